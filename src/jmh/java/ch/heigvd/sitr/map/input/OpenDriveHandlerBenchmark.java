@@ -0,0 +1,54 @@
+/*
+ * Filename : OpenDriveHandlerBenchmark.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.map.input;
+
+import ch.heigvd.sitr.map.RoadNetwork;
+import ch.heigvd.sitr.model.Scenario;
+import org.openjdk.jmh.annotations.*;
+
+import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the road network loading, by scenario
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpenDriveHandlerBenchmark {
+    @Param({"SIMPLE_ROAD", "RING_ROAD"})
+    private Scenario scenario;
+
+    // Content of the scenario's file, read once to leave the disk out of the measure
+    private byte[] openDriveFile;
+
+    @Setup(Level.Trial)
+    public void readFile() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(scenario.getConfigPath())) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            openDriveFile = out.toByteArray();
+        }
+    }
+
+    @Benchmark
+    public RoadNetwork loadRoadNetwork() {
+        RoadNetwork roadNetwork = new RoadNetwork(scenario.getScale());
+        OpenDriveHandler.loadRoadNetwork(roadNetwork, new StreamSource(new ByteArrayInputStream(openDriveFile)));
+        return roadNetwork;
+    }
+}
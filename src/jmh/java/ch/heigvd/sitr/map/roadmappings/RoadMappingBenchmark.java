@@ -0,0 +1,50 @@
+/*
+ * Filename : RoadMappingBenchmark.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.map.roadmappings;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the position lookup along lines and arcs
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoadMappingBenchmark {
+    private static final int NB_POSITIONS = 256;
+    private static final double LENGTH = 500;
+
+    private RoadMapping line;
+    private RoadMapping arc;
+
+    @Setup(Level.Trial)
+    public void createRoadMappings() {
+        line = new RoadMappingLine(new LaneGeometries(), 0, 10, 20, 0.3, LENGTH);
+        arc = new RoadMappingArc(new LaneGeometries(), 10, 20, 0.3, LENGTH, 0.01);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NB_POSITIONS)
+    public void linePosAt(Blackhole blackhole) {
+        for (int i = 0; i < NB_POSITIONS; i++) {
+            blackhole.consume(line.posAt(i * LENGTH / NB_POSITIONS, -2));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NB_POSITIONS)
+    public void arcPosAt(Blackhole blackhole) {
+        for (int i = 0; i < NB_POSITIONS; i++) {
+            blackhole.consume(arc.posAt(i * LENGTH / NB_POSITIONS, -2));
+        }
+    }
+}
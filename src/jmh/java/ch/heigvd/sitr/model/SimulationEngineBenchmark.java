@@ -0,0 +1,53 @@
+/*
+ * Filename : SimulationEngineBenchmark.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of a whole simulation step, by scenario and fleet size
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationEngineBenchmark {
+    @Param({"SIMPLE_ROAD", "RING_ROAD"})
+    private Scenario scenario;
+
+    @Param({"10", "100", "1000"})
+    private int fleetSize;
+
+    @Param({"1", "4"})
+    private int parallelism;
+
+    private SimulationEngine engine;
+
+    @Setup(Level.Trial)
+    public void createEngine() {
+        HashMap<VehicleControllerType, Integer> controllers = new HashMap<>();
+        controllers.put(VehicleControllerType.CAREFUL, fleetSize / 2);
+        controllers.put(VehicleControllerType.AUTONOMOUS, fleetSize - fleetSize / 2);
+
+        engine = new Simulation(scenario, VehicleBehaviour.LOOP, controllers).getEngine();
+        engine.setParallelism(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdownEngine() {
+        engine.setParallelism(1);
+    }
+
+    @Benchmark
+    public void step() {
+        engine.step();
+    }
+}
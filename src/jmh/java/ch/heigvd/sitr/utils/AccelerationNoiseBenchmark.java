@@ -0,0 +1,69 @@
+/*
+ * Filename : AccelerationNoiseBenchmark.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the acceleration noise update
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccelerationNoiseBenchmark {
+    private static final int BATCH_SIZE = 1000;
+
+    private AccelerationNoise accelerationNoise = new AccelerationNoise();
+
+    // One noise process per vehicle of a fleet, updated one by one
+    private AccelerationNoise[] accelerationNoises = new AccelerationNoise[BATCH_SIZE];
+
+    // The same fleet, updated as a batch
+    private SplittableRandom[] randoms = new SplittableRandom[BATCH_SIZE];
+    private double[] noises = new double[BATCH_SIZE];
+    private double[] samples = new double[BATCH_SIZE];
+
+    @Setup
+    public void setUp() {
+        SplittableRandom master = new SplittableRandom(42);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            accelerationNoises[i] = new AccelerationNoise(master.split());
+            randoms[i] = master.split();
+        }
+    }
+
+    @Benchmark
+    public double updateAccelerationWhiteNoise() {
+        accelerationNoise.updateAccelerationWhiteNoise(0.12);
+        return accelerationNoise.getAccelerationNoise();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public double updateOneByOne() {
+        for (AccelerationNoise noise : accelerationNoises) {
+            noise.updateAccelerationWhiteNoise(0.12);
+        }
+        return accelerationNoises[0].getAccelerationNoise();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public double updateBatch() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            samples[i] = randoms[i].nextDouble() - 0.5;
+        }
+        AccelerationNoise.update(noises, samples, 0, BATCH_SIZE,
+                AccelerationNoise.decay(0.12), AccelerationNoise.diffusion(0.12));
+        return noises[0];
+    }
+}
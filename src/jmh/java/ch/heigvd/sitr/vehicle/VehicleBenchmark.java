@@ -0,0 +1,101 @@
+/*
+ * Filename: VehicleBenchmark.java
+ * Creation date: 17.10.2026
+ */
+
+package ch.heigvd.sitr.vehicle;
+
+import ch.heigvd.sitr.model.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the per-vehicle hot paths over a whole fleet, by scenario and fleet size
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VehicleBenchmark {
+    @Param({"SIMPLE_ROAD", "RING_ROAD"})
+    private Scenario scenario;
+
+    @Param({"10", "100", "1000"})
+    private int fleetSize;
+
+    private Simulation simulation;
+    private List<Vehicle> vehicles;
+    private VehicleStateStore store;
+    private BufferedImage image;
+    private Graphics2D graphics;
+    private FrameSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void createFleet() {
+        HashMap<VehicleControllerType, Integer> controllers = new HashMap<>();
+        controllers.put(VehicleControllerType.AUTONOMOUS, fleetSize);
+
+        simulation = new Simulation(scenario, VehicleBehaviour.LOOP, controllers);
+        vehicles = simulation.getEngine().getVehicles();
+        store = simulation.getEngine().getStore();
+
+        // Let the vehicles spread over the road network
+        simulation.getEngine().runFor(30);
+
+        // Off-screen image the size of the simulation pane
+        image = new BufferedImage(1600, 1000, BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+
+        // Snapshot of the fleet as handed over to the GUI
+        simulation.getEngine().enableSnapshots(scenario.getScale());
+        snapshot = simulation.getEngine().latestSnapshot();
+    }
+
+    @TearDown(Level.Trial)
+    public void disposeGraphics() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public void update() {
+        double deltaT = simulation.getDeltaT();
+        for (Vehicle vehicle : vehicles) {
+            vehicle.update(deltaT);
+            if (vehicle.isFinished()) {
+                vehicle.reset(VehicleBehaviour.LOOP);
+            }
+        }
+    }
+
+    @Benchmark
+    public void frontDistance(Blackhole blackhole) {
+        // Measure the walk itself, not the cache
+        store.invalidate();
+        for (Vehicle vehicle : vehicles) {
+            blackhole.consume(vehicle.frontDistance());
+        }
+    }
+
+    @Benchmark
+    public void display(Blackhole blackhole) {
+        double scale = scenario.getScale();
+        for (Vehicle vehicle : vehicles) {
+            Graphics2D g = (Graphics2D) graphics.create();
+            blackhole.consume(VehicleRenderer.getInstance().display(g, vehicle, scale));
+            g.dispose();
+        }
+    }
+
+    @Benchmark
+    public void displayFrame() {
+        VehicleRenderer.getInstance().display(graphics, snapshot, 0.5);
+    }
+}
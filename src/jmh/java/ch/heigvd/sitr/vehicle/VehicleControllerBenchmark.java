@@ -0,0 +1,69 @@
+/*
+ * Filename: VehicleControllerBenchmark.java
+ * Creation date: 17.10.2026
+ */
+
+package ch.heigvd.sitr.vehicle;
+
+import ch.heigvd.sitr.model.VehicleControllerType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the IDM acceleration, comparing the folded kernel to the reference formula
+ * using Math.pow
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VehicleControllerBenchmark {
+    private static final int NB_INPUTS = 1024;
+
+    private VehicleController controller;
+    private double[] speeds = new double[NB_INPUTS];
+    private double[] relSpeeds = new double[NB_INPUTS];
+    private double[] distances = new double[NB_INPUTS];
+
+    @Setup(Level.Trial)
+    public void createInputs() {
+        controller = new VehicleController(VehicleControllerType.CAREFUL);
+
+        Random random = new Random(42);
+        for (int i = 0; i < NB_INPUTS; i++) {
+            speeds[i] = random.nextDouble() * 35;
+            relSpeeds[i] = random.nextDouble() * 10 - 5;
+            distances[i] = 1 + random.nextDouble() * 100;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NB_INPUTS)
+    public void reference(Blackhole blackhole) {
+        double a = controller.getMaxAcceleration();
+        double b = controller.getComfortableBrakingDeceleration();
+        double s0 = controller.getMinimumSpacing();
+
+        for (int i = 0; i < NB_INPUTS; i++) {
+            double safeDistance = s0 + speeds[i] * controller.getDesiredTimeHeadway();
+            double dynamicalTerm = (speeds[i] * relSpeeds[i]) / (2 * Math.sqrt(a * b));
+            double desiredDistance = (safeDistance - s0 + dynamicalTerm < 0) ? s0 : safeDistance + dynamicalTerm;
+
+            blackhole.consume(a * (1 - Math.pow(speeds[i] / controller.getDesiredVelocity(), 4)) -
+                    a * Math.pow(desiredDistance / distances[i], 2));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NB_INPUTS)
+    public void folded(Blackhole blackhole) {
+        for (int i = 0; i < NB_INPUTS; i++) {
+            blackhole.consume(controller.acceleration(speeds[i], relSpeeds[i], distances[i]));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Filename : HeadlessApp.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr;
+
+import ch.heigvd.sitr.model.*;
+import ch.heigvd.sitr.statistics.Statistics;
+
+import java.util.HashMap;
+
+/**
+ * Command line entry point running a simulation without any display
+ * <p>
+ * Usage : HeadlessApp SCENARIO BEHAVIOUR DURATION [CONTROLLER=COUNT ...] [THREADS=COUNT] [SEED=SEED]
+ * <p>
+ * Example : HeadlessApp SIMPLE_ROAD LOOP 600 CAREFUL=10 AUTONOMOUS=4 THREADS=8 SEED=42
+ */
+public class HeadlessApp {
+    private static final String USAGE = "Usage : HeadlessApp SCENARIO BEHAVIOUR DURATION [CONTROLLER=COUNT ...] [THREADS=COUNT] [SEED=SEED]";
+    private static final String THREADS = "THREADS";
+    private static final String SEED = "SEED";
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+
+        Scenario scenario = Scenario.valueOf(args[0]);
+        VehicleBehaviour behaviour = VehicleBehaviour.valueOf(args[1]);
+        double duration = Double.parseDouble(args[2]);
+
+        // Get the number of vehicles for each controller type
+        HashMap<VehicleControllerType, Integer> controllers = new HashMap<>();
+        int threads = 1;
+        Long seed = null;
+        for (int i = 3; i < args.length; i++) {
+            String[] controller = args[i].split("=");
+            if (controller.length != 2) {
+                System.err.println(USAGE);
+                System.exit(1);
+            }
+            if (controller[0].equals(THREADS)) {
+                threads = Integer.parseInt(controller[1]);
+            } else if (controller[0].equals(SEED)) {
+                seed = Long.parseLong(controller[1]);
+            } else {
+                controllers.put(VehicleControllerType.valueOf(controller[0]), Integer.parseInt(controller[1]));
+            }
+        }
+
+        Simulation simulation = seed == null ?
+                new Simulation(scenario, behaviour, controllers) :
+                new Simulation(scenario, behaviour, controllers, seed);
+        SimulationEngine engine = simulation.getEngine();
+        engine.setParallelism(threads);
+
+        // Step as fast as possible
+        long start = System.nanoTime();
+        int steps = engine.runFor(duration);
+        double wallSeconds = (System.nanoTime() - start) / 1e9;
+
+        Statistics stats = simulation.getStats();
+        System.out.println("Scenario            : " + scenario);
+        System.out.println("Vehicles            : " + engine.getVehicles().size());
+        System.out.println("Threads             : " + threads);
+        System.out.println("Seed                : " + simulation.getSeed());
+        System.out.println("Steps               : " + steps);
+        System.out.println("Simulated time      : " + engine.getSimulatedTime() + "s");
+        System.out.println("Wall time           : " + wallSeconds + "s");
+        System.out.println("Steps per second    : " + (steps / wallSeconds));
+        System.out.println("Waiting time        : " + stats.getWaitingTime() + "%");
+        System.out.println("Accidents           : " + stats.nbrOfAccidents());
+        System.out.println("Network occupancy   : " + stats.getNetworkOccupancy() + "%");
+    }
+}
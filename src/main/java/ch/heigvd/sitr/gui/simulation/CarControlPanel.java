@@ -5,10 +5,12 @@
 
 package ch.heigvd.sitr.gui.simulation;
 
+import ch.heigvd.sitr.model.FrameSnapshot;
 import ch.heigvd.sitr.model.VehicleControllerType;
 import ch.heigvd.sitr.utils.Conversions;
 import ch.heigvd.sitr.vehicle.Vehicle;
 import ch.heigvd.sitr.vehicle.VehicleController;
+import ch.heigvd.sitr.vehicle.VehicleListener;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -16,16 +18,15 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.geom.Point2D;
 import java.text.DecimalFormat;
-import java.util.Observable;
-import java.util.Observer;
 
 /**
  * Car control panel class represents a car with his stats and his available action.
  *
  * @author Alexandre Monteiro Marques, Loris Gilliand
  */
-public class CarControlPanel extends JPanel implements Observer {
+public class CarControlPanel extends JPanel implements VehicleListener {
     private final JLabel accidentCounterValue;
     private final JLabel speedValue;
     private final JLabel locationValue;
@@ -140,10 +141,9 @@ public class CarControlPanel extends JPanel implements Observer {
                 DrawnPath drawnPath = DrawnPath.getInstance();
                 if (showRoute.isSelected()) {
                     drawnPath.setVehicle(vehicle);
-                    vehicle.addObserver(drawnPath);
+                    vehicle.addListener(drawnPath);
                     vehicle.setDrawingPath(true);
                 } else {
-                    vehicle.deleteObserver(drawnPath);
                     drawnPath.kill();
                 }
             }
@@ -246,33 +246,38 @@ public class CarControlPanel extends JPanel implements Observer {
     }
 
     /**
-     * Method used to update the observer. In this case, refresh the statistics of the
+     * Method used to update the listener. In this case, refresh the statistics of the
      * selected car.
      *
-     * @param o   the selected car
-     * @param arg param used to notify all observers of o (never used in this app)
+     * @param v the selected car
      */
     @Override
-    public void update(Observable o, Object arg) {
-        // convert received object into vehicle
-        Vehicle v = (Vehicle) o;
+    public void vehicleChanged(Vehicle v) {
+        // read the values shown on the map rather than the live vehicle
+        SimulationWindow window = SimulationWindow.getInstance();
+        FrameSnapshot snapshot = window.getSnapshot();
+        int i = snapshot == null ? -1 : snapshot.indexOf(v);
+        if (i < 0) {
+            return;
+        }
 
         // Set the color of the color selection button
-        colorChangeButton.setBackground(vehicle.getColor());
+        colorChangeButton.setBackground(new Color(snapshot.color(i)));
 
         // update speed according to the pattern "123.45 Km/H"
         String pattern = "###.##";
         DecimalFormat decimalFormat = new DecimalFormat(pattern);
-        String speed = decimalFormat.format(Conversions.mpsToKph(vehicle.getSpeed()));
+        String speed = decimalFormat.format(Conversions.mpsToKph(snapshot.speed(i)));
         speedValue.setText(speed + " Km/h");
 
         // update the location of the vehicle
-        locationValue.setText("[" + v.getGlobalPosition().x + ", " + v.getGlobalPosition().y + "]");
+        Point2D.Double center = snapshot.center(i, window.getInterpolation());
+        locationValue.setText("[" + center.x + ", " + center.y + "]");
 
         // update the waiting time in second
-        waitingTimeValue.setText((v.getWaitingTime() / 1000) + "s");
+        waitingTimeValue.setText(decimalFormat.format(snapshot.waitingTime(i)) + "s");
 
         // update accident counter
-        accidentCounterValue.setText(Integer.toString(v.getNbOfAccidents()));
+        accidentCounterValue.setText(Integer.toString(snapshot.accidents(i)));
     }
 }
@@ -0,0 +1,183 @@
+/*
+ * Filename: DirtyRegions.java
+ * Creation date: 17.10.2026
+ */
+
+package ch.heigvd.sitr.gui.simulation;
+
+import ch.heigvd.sitr.model.FrameSnapshot;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dirty regions track the regions of the map which changed between two frames
+ * <p>
+ * The bounds and colour each vehicle was drawn with are kept, by vehicle id. A vehicle which
+ * moved or changed colour dirties the union of its previous and current bounds, a vehicle which
+ * disappeared dirties its previous bounds. Only these regions need to be restored from the road
+ * layer, redrawn and copied on screen. When they cover too much of the map, the whole map is
+ * redrawn instead.
+ */
+class DirtyRegions {
+    // Maximum number of regions before redrawing the whole map
+    private static final int MAX_REGIONS = 128;
+
+    // Maximum fraction of the map covered by the regions before redrawing the whole map
+    private static final double MAX_AREA_RATIO = 0.5;
+
+    // Bounds of the whole map [px]
+    private final Rectangle map;
+
+    // Bounds each vehicle was last drawn with, by vehicle id, null if it wasn't drawn [px]
+    private Rectangle[] drawnBounds = new Rectangle[16];
+
+    // Colour each vehicle was last drawn with, by vehicle id
+    private int[] drawnColor = new int[16];
+
+    // Frame in which each vehicle was last seen, by vehicle id
+    private long[] seenFrame = new long[16];
+
+    // Number of frames tracked
+    private long frame;
+
+    // Regions to redraw, the first regionCount ones being in use
+    private final ArrayList<Rectangle> regions = new ArrayList<>();
+    private int regionCount;
+
+    // Area covered by the regions in use [px^2]
+    private long area;
+
+    // Must the whole map be redrawn
+    private boolean full = true;
+
+    // Bounds reused for each vehicle
+    private final Rectangle bounds = new Rectangle();
+
+    /**
+     * Constructor
+     *
+     * @param width  the width of the map [px]
+     * @param height the height of the map [px]
+     */
+    DirtyRegions(int width, int height) {
+        map = new Rectangle(0, 0, width, height);
+    }
+
+    /**
+     * Add the regions changed by a new frame to the regions to redraw
+     *
+     * @param snapshot      the snapshot shown by the frame
+     * @param interpolation the interpolation factor the snapshot is shown with
+     */
+    void update(FrameSnapshot snapshot, double interpolation) {
+        frame++;
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            int id = snapshot.vehicle(i).getId();
+            if (id >= drawnBounds.length) {
+                grow(Math.max(id + 1, 2 * drawnBounds.length));
+            }
+
+            snapshot.bounds(i, interpolation, bounds);
+            Rectangle drawn = drawnBounds[id];
+            if (drawn == null) {
+                drawnBounds[id] = new Rectangle(bounds);
+                add(bounds);
+            } else if (!drawn.equals(bounds) || drawnColor[id] != snapshot.color(i)) {
+                drawn.add(bounds);
+                add(drawn);
+                drawn.setBounds(bounds);
+            }
+
+            drawnColor[id] = snapshot.color(i);
+            seenFrame[id] = frame;
+        }
+
+        // Erase the vehicles which aren't part of the frame anymore
+        for (int id = 0; id < drawnBounds.length; id++) {
+            if (drawnBounds[id] != null && seenFrame[id] != frame) {
+                add(drawnBounds[id]);
+                drawnBounds[id] = null;
+            }
+        }
+
+        if (regionCount > MAX_REGIONS || area > MAX_AREA_RATIO * map.width * map.height) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Ask for the whole map to be redrawn
+     */
+    void invalidate() {
+        full = true;
+        regionCount = 0;
+        area = 0;
+    }
+
+    /**
+     * Must the whole map be redrawn
+     *
+     * @return true if the regions don't matter
+     */
+    boolean isFull() {
+        return full;
+    }
+
+    /**
+     * Get the regions to redraw, clipped to the map
+     *
+     * @return the regions, only valid until the next update
+     */
+    List<Rectangle> getRegions() {
+        return regions.subList(0, regionCount);
+    }
+
+    /**
+     * Forget the regions once redrawn
+     */
+    void clear() {
+        full = false;
+        regionCount = 0;
+        area = 0;
+    }
+
+    /**
+     * Add a region to redraw, clipped to the map
+     *
+     * @param region the region [px]
+     */
+    private void add(Rectangle region) {
+        if (full) {
+            return;
+        }
+
+        if (regionCount == regions.size()) {
+            regions.add(new Rectangle());
+        }
+
+        Rectangle clipped = regions.get(regionCount);
+        clipped.setBounds(region);
+        Rectangle.intersect(clipped, map, clipped);
+        if (clipped.isEmpty()) {
+            return;
+        }
+
+        regionCount++;
+        area += (long) clipped.width * clipped.height;
+    }
+
+    /**
+     * Grow the arrays indexed by vehicle id
+     *
+     * @param capacity the new capacity
+     */
+    private void grow(int capacity) {
+        drawnBounds = Arrays.copyOf(drawnBounds, capacity);
+        drawnColor = Arrays.copyOf(drawnColor, capacity);
+        seenFrame = Arrays.copyOf(seenFrame, capacity);
+    }
+}
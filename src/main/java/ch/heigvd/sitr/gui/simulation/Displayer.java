@@ -5,6 +5,8 @@
 
 package ch.heigvd.sitr.gui.simulation;
 
+import ch.heigvd.sitr.model.FrameSnapshot;
+
 import java.awt.Graphics2D;
 
 /**
@@ -42,7 +44,17 @@ public interface Displayer {
     Graphics2D getBackgroundSimulationPane();
 
     /**
-     * Draw the image with the shapes on the panel, and create a new image object
+     * Show the vehicles of a frame snapshot on the panel
+     * <p>
+     * Note: called on the Swing event dispatch thread
+     *
+     * @param snapshot      the snapshot to show
+     * @param interpolation the interpolation factor, between 0 (before the step captured) and 1 (after it)
+     */
+    void display(FrameSnapshot snapshot, double interpolation);
+
+    /**
+     * Draw the image with the shapes on the panel
      */
     void repaint();
 }
@@ -5,21 +5,22 @@
 
 package ch.heigvd.sitr.gui.simulation;
 
+import ch.heigvd.sitr.model.FrameSnapshot;
 import ch.heigvd.sitr.vehicle.Vehicle;
+import ch.heigvd.sitr.vehicle.VehicleListener;
 import lombok.Getter;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.GeneralPath;
-import java.util.Observable;
-import java.util.Observer;
+import java.awt.geom.Point2D;
 
 /**
  * Drawn Path class represents a drawn trajectory of the selected car.
  *
  * @author Loris Gilliand
  */
-public class DrawnPath extends JComponent implements Observer {
+public class DrawnPath extends JComponent implements VehicleListener {
     // the only one instance of the class
     private static DrawnPath instance;
 
@@ -43,15 +44,13 @@ public class DrawnPath extends JComponent implements Observer {
     }
 
     /**
-     * Method used to update the observer according to its observable
+     * Method used to update the listener according to its vehicle
      *
-     * @param o   observable that has change
-     * @param arg never use in this case
+     * @param vehicle vehicle that has changed
      */
     @Override
-    public void update(Observable o, Object arg) {
+    public void vehicleChanged(Vehicle vehicle) {
         addStroke();
-        paint(SimulationWindow.getInstance().getSimulationPane());
     }
 
     /**
@@ -69,11 +68,11 @@ public class DrawnPath extends JComponent implements Observer {
     /**
      * Method used to kill the path object.
      * Delete the drawn trajectory on the screen and remove the link between
-     * observer and observable.
+     * listener and vehicle.
      */
     public void kill() {
         vehicle.setDrawingPath(false);
-        vehicle.deleteObserver(this);
+        vehicle.removeListener(this);
         reset();
         vehicle = null;
     }
@@ -98,13 +97,26 @@ public class DrawnPath extends JComponent implements Observer {
      */
     private void reset() {
         path = new GeneralPath(GeneralPath.WIND_NON_ZERO);
-        path.moveTo(vehicle.getGlobalPosition().x, vehicle.getGlobalPosition().y);
+        addStroke();
     }
 
     /**
      * Method used to add a stroke frome between the last coordinate and the current one.
+     * The coordinates are the ones of the vehicle shown on the map.
      */
     private void addStroke() {
-        path.lineTo(vehicle.getGlobalPosition().x, vehicle.getGlobalPosition().y);
+        SimulationWindow window = SimulationWindow.getInstance();
+        FrameSnapshot snapshot = window.getSnapshot();
+        int i = snapshot == null ? -1 : snapshot.indexOf(vehicle);
+        if (i < 0) {
+            return;
+        }
+
+        Point2D.Double center = snapshot.center(i, window.getInterpolation());
+        if (path.getCurrentPoint() == null) {
+            path.moveTo(center.x, center.y);
+        } else {
+            path.lineTo(center.x, center.y);
+        }
     }
 }
@@ -0,0 +1,197 @@
+/*
+ * Filename: MapBuffers.java
+ * Creation date: 17.10.2026
+ */
+
+package ch.heigvd.sitr.gui.simulation;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.function.BiConsumer;
+
+/**
+ * Map buffers hold the images the map is painted with, allocated once and reused for every frame
+ * <p>
+ * The static road layer is drawn in a buffered image and copied into an accelerated (volatile)
+ * image whenever it changes. Each frame is composed in an accelerated back buffer : the road layer
+ * is copied, the vehicles are drawn over it and the result is copied on screen. If the accelerated
+ * images can't be created, for example while the panel isn't displayable, buffered images are
+ * used instead.
+ * <p>
+ * The back buffer keeps its content from one frame to the next, so only the dirty regions of a
+ * frame are restored from the road layer and redrawn.
+ */
+class MapBuffers {
+    // Component the buffers are shown on
+    private final Component component;
+
+    // Size of the buffers [px]
+    private final int width;
+    private final int height;
+
+    // Static road layer, drawn once
+    private final BufferedImage roadImage;
+
+    // Has the road layer been drawn since it was last copied into the accelerated road layer
+    private volatile boolean roadChanged = true;
+
+    // Accelerated copy of the road layer
+    private VolatileImage roadLayer;
+
+    // Accelerated back buffer in which the frames are composed
+    private VolatileImage backBuffer;
+
+    // Back buffer used when accelerated images aren't available
+    private BufferedImage fallbackBuffer;
+
+    /**
+     * Constructor
+     *
+     * @param component  the component the buffers are shown on
+     * @param width      the width of the buffers [px]
+     * @param height     the height of the buffers [px]
+     * @param background the colour of the road layer before anything is drawn on it
+     */
+    MapBuffers(Component component, int width, int height, Color background) {
+        this.component = component;
+        this.width = width;
+        this.height = height;
+
+        roadImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = roadImage.createGraphics();
+        g.setPaint(background);
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+    }
+
+    /**
+     * Get a graphics on which to draw the static road layer
+     *
+     * @return a graphics area of the buffers' size, to dispose once done
+     */
+    Graphics2D roadGraphics() {
+        // We assume that if we get the road layer, it's to draw something
+        roadChanged = true;
+        return roadImage.createGraphics();
+    }
+
+    /**
+     * Get a graphics on the back buffer, the frame being composed
+     *
+     * @return a graphics area of the buffers' size, to dispose once done
+     */
+    Graphics2D frameGraphics() {
+        validate();
+        return backGraphics();
+    }
+
+    /**
+     * Redraw the dirty regions of the back buffer over the road layer and copy it on a target
+     * <p>
+     * Note: the whole back buffer is redrawn if the road layer changed or if the content of the
+     * back buffer was lost
+     *
+     * @param target  the graphics on which to show the frame, typically the component's, clipped
+     *                to the regions to show
+     * @param dirty   the regions to redraw, cleared once redrawn
+     * @param painter the painter drawing the content of a region over the road layer, the region
+     *                being null when the whole map is redrawn
+     */
+    void render(Graphics target, DirtyRegions dirty, BiConsumer<Graphics2D, Rectangle> painter) {
+        do {
+            if (validate()) {
+                dirty.invalidate();
+            }
+
+            Image source = backBuffer != null ? roadLayer : roadImage;
+            Graphics2D g = backGraphics();
+            if (dirty.isFull()) {
+                g.drawImage(source, 0, 0, null);
+                painter.accept(g, null);
+            } else {
+                for (Rectangle region : dirty.getRegions()) {
+                    g.setClip(region);
+                    g.drawImage(source, 0, 0, null);
+                    painter.accept(g, region);
+                }
+            }
+            g.dispose();
+        } while (contentsLost());
+
+        dirty.clear();
+        target.drawImage(backBuffer != null ? backBuffer : fallbackBuffer, 0, 0, null);
+    }
+
+    /**
+     * Get a graphics on the current back buffer
+     *
+     * @return a graphics area of the buffers' size
+     */
+    private Graphics2D backGraphics() {
+        return backBuffer != null ? backBuffer.createGraphics() : fallbackBuffer.createGraphics();
+    }
+
+    /**
+     * Create the buffers if needed, restore the accelerated ones if their content was lost and
+     * refresh the accelerated road layer if the road layer changed
+     *
+     * @return true if the content of the back buffer must be redrawn entirely
+     */
+    private boolean validate() {
+        boolean reset = roadChanged;
+
+        if (backBuffer == null && fallbackBuffer == null) {
+            reset = true;
+            backBuffer = component.createVolatileImage(width, height);
+            roadLayer = component.createVolatileImage(width, height);
+
+            if (backBuffer == null || roadLayer == null) {
+                backBuffer = null;
+                roadLayer = null;
+                fallbackBuffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            }
+        }
+
+        if (backBuffer == null) {
+            roadChanged = false;
+            return reset;
+        }
+
+        GraphicsConfiguration gc = component.getGraphicsConfiguration();
+        int backStatus = backBuffer.validate(gc);
+        if (backStatus == VolatileImage.IMAGE_INCOMPATIBLE) {
+            backBuffer = component.createVolatileImage(width, height);
+            reset = true;
+        } else if (backStatus == VolatileImage.IMAGE_RESTORED) {
+            reset = true;
+        }
+
+        int roadStatus = roadLayer.validate(gc);
+        if (roadStatus == VolatileImage.IMAGE_INCOMPATIBLE) {
+            roadLayer = component.createVolatileImage(width, height);
+            roadChanged = true;
+        } else if (roadStatus == VolatileImage.IMAGE_RESTORED) {
+            roadChanged = true;
+        }
+
+        if (roadChanged) {
+            roadChanged = false;
+            reset = true;
+            Graphics2D g = roadLayer.createGraphics();
+            g.drawImage(roadImage, 0, 0, null);
+            g.dispose();
+        }
+
+        return reset;
+    }
+
+    /**
+     * Was the content of an accelerated image lost while composing the frame
+     *
+     * @return true if the frame must be composed again
+     */
+    private boolean contentsLost() {
+        return backBuffer != null && (backBuffer.contentsLost() || roadLayer.contentsLost());
+    }
+}
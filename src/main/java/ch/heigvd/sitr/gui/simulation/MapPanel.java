@@ -5,9 +5,9 @@
 
 package ch.heigvd.sitr.gui.simulation;
 
+import ch.heigvd.sitr.model.FrameSnapshot;
 import ch.heigvd.sitr.model.VehicleControllerType;
 import lombok.Getter;
-import ch.heigvd.sitr.gui.settings.SettingsWindow;
 import ch.heigvd.sitr.vehicle.Vehicle;
 
 import javax.swing.*;
@@ -29,10 +29,16 @@ class MapPanel extends JPanel implements MouseListener {
     static final int WIDTH = 800;
     static final int HEIGHT = 800;
 
+    // The window painting the frames of the map
+    private final SimulationWindow window;
+
     /**
      * Package-private constructor of the map panel
+     *
+     * @param window the window painting the frames of the map
      */
-    MapPanel() {
+    MapPanel(SimulationWindow window) {
+        this.window = window;
         Dimension d = new Dimension(WIDTH, HEIGHT);
         this.setMinimumSize(d);
         this.setMaximumSize(d);
@@ -40,29 +46,43 @@ class MapPanel extends JPanel implements MouseListener {
         addMouseListener(this);
     }
 
+    /**
+     * Paint the current frame of the map
+     *
+     * @param g the graphics of the panel
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        window.paintFrame(g);
+    }
+
     /**
      * This method detect click on the map. If the click is on a vehicle,
-     * set the CarControlPanel to observe this car.
+     * set the CarControlPanel to listen to this car.
+     * <p>
+     * Note: the vehicles are found in the snapshot shown on the map
      *
      * @param e mouse event used to get the position of the click
      */
     @Override
     public void mousePressed(MouseEvent e) {
         Point point = e.getPoint();
-        boolean hitCar = false;
-        for (Vehicle v : SettingsWindow.getInstance().getSettingsPanel().getCurrentSim().getVehicles()) {
-            if (v.getRectangle().contains(point)) {
-                hitCar = true;
-                v.deleteObservers();
-                v.addObserver(SimulationWindow.getInstance().getCarControlPanel());
-                SimulationWindow.getInstance().getCarControlPanel().setVehicle(v);
-                VehicleControllerType vct = v.getVehicleController().getControllerType();
-                SimulationWindow.getInstance().getCarControlPanel().getControllerChangeBox().setSelectedIndex(VehicleControllerType.valueOf(vct.name()).ordinal());
-                v.initiateObservable();
-                SimulationWindow.getInstance().getCarControlPanel().getShowRoute().setSelected(v.isDrawingPath());
-            }
+        FrameSnapshot snapshot = window.getSnapshot();
+        int hit = snapshot == null ? -1 : snapshot.hit(point.x, point.y, window.getInterpolation());
+        CarControlPanel carControlPanel = window.getCarControlPanel();
+
+        if (hit >= 0) {
+            Vehicle v = snapshot.vehicle(hit);
+            v.getStore().getEventBus().unsubscribe(carControlPanel);
+            v.addListener(carControlPanel);
+            carControlPanel.setVehicle(v);
+            VehicleControllerType vct = v.getVehicleController().getControllerType();
+            carControlPanel.getControllerChangeBox().setSelectedIndex(VehicleControllerType.valueOf(vct.name()).ordinal());
+            carControlPanel.vehicleChanged(v);
+            carControlPanel.getShowRoute().setSelected(v.isDrawingPath());
         }
-        SimulationWindow.getInstance().getCarControlPanel().setVisible(hitCar);
+        carControlPanel.setVisible(hit >= 0);
     }
 
     /**
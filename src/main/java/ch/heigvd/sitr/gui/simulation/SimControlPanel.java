@@ -6,6 +6,9 @@
 package ch.heigvd.sitr.gui.simulation;
 
 import ch.heigvd.sitr.gui.settings.SettingsWindow;
+import ch.heigvd.sitr.model.ExecutionMode;
+import ch.heigvd.sitr.model.Simulation;
+import ch.heigvd.sitr.model.SimulationEngine;
 
 import javax.swing.*;
 import java.awt.*;
@@ -18,14 +21,23 @@ import java.awt.event.ActionListener;
  * @author Alexandre Monteiro Marques, Loris Gilliand
  */
 public class SimControlPanel extends JPanel {
-    // Minimal and maximal speed of the simulation
-    private final int MIN_SPEED = 50;
-    private final int MAX_SPEED = 150;
+    // Minimal and maximal time warp factor of the simulation
+    private final double MIN_TIME_WARP = 0.25;
+    private final double MAX_TIME_WARP = 64;
 
-    private final int DEC_INC_PERCENT = 10;
+    // Factor by which the buttons change the time warp
+    private final double TIME_WARP_STEP = 2;
 
-    // Actual speed of the simulation. Initially 100%
-    private int speedPercent = 100;
+    // Period between two refreshes of the achieved speed in milliseconds
+    private final int REFRESH_PERIOD = 500;
+
+    // Actual time warp factor of the simulation
+    private double timeWarp = SimulationEngine.DEFAULT_TIME_WARP;
+
+    private JLabel realTimeFactorValue;
+
+    // Timer refreshing the achieved speed
+    private Timer refreshTimer;
 
     private JLabel waitingTimeValue;
     private JLabel accidentCounterValue;
@@ -51,40 +63,73 @@ public class SimControlPanel extends JPanel {
         this.add(title, gbc);
 
 
-        final JLabel speedLabel = new JLabel("Vitesse actuelle :");
+        final JLabel modeLabel = new JLabel("Mode d'exécution :");
         gbc = new GridBagConstraints();
         gbc.gridx = 0;
         gbc.gridy = 1;
+        gbc.gridwidth = 2;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        this.add(modeLabel, gbc);
+
+        final JComboBox<ExecutionMode> modeComboBox = new JComboBox<>(ExecutionMode.values());
+        modeComboBox.setSelectedItem(ExecutionMode.TIME_WARP);
+        gbc = new GridBagConstraints();
+        gbc.gridx = 2;
+        gbc.gridy = 1;
         gbc.gridwidth = 3;
         gbc.fill = GridBagConstraints.HORIZONTAL;
+        this.add(modeComboBox, gbc);
+
+        final JLabel speedLabel = new JLabel("Vitesse visée :");
+        gbc = new GridBagConstraints();
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        gbc.gridwidth = 3;
+        gbc.insets = new Insets(10, 0, 0, 0);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
         this.add(speedLabel, gbc);
 
-        final JLabel speedValue = new JLabel(speedPercent + "%");
+        final JLabel speedValue = new JLabel(formatFactor(timeWarp));
         speedValue.setHorizontalAlignment(JLabel.RIGHT);
         gbc = new GridBagConstraints();
         gbc.gridx = 3;
-        gbc.gridy = 1;
+        gbc.gridy = 2;
         gbc.gridwidth = 2;
+        gbc.insets = new Insets(10, 0, 0, 0);
         gbc.fill = GridBagConstraints.HORIZONTAL;
         this.add(speedValue, gbc);
 
+        final JLabel realTimeFactorLabel = new JLabel("Vitesse atteinte :");
+        gbc = new GridBagConstraints();
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        gbc.gridwidth = 3;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        this.add(realTimeFactorLabel, gbc);
+
+        realTimeFactorValue = new JLabel("NaN");
+        realTimeFactorValue.setHorizontalAlignment(JLabel.RIGHT);
+        gbc = new GridBagConstraints();
+        gbc.gridx = 3;
+        gbc.gridy = 3;
+        gbc.gridwidth = 2;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        this.add(realTimeFactorValue, gbc);
+
         final JButton decrease = new JButton("Décélérer");
         decrease.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                if (speedPercent > MIN_SPEED) {
-                    speedPercent -= DEC_INC_PERCENT;
-                    speedValue.setText(speedPercent + "%");
-                    double defaultDelta = SettingsWindow.getInstance().getSettingsPanel().getCurrentSim().getDefaultDeltaT();
-                    double delta = SettingsWindow.getInstance().getSettingsPanel().getCurrentSim().getDeltaT();
-                    delta -= (defaultDelta * DEC_INC_PERCENT / 100);
-                    SettingsWindow.getInstance().getSettingsPanel().getCurrentSim().setDeltaT(delta);
+                if (timeWarp > MIN_TIME_WARP) {
+                    timeWarp /= TIME_WARP_STEP;
+                    speedValue.setText(formatFactor(timeWarp));
+                    SettingsWindow.getInstance().getSettingsPanel().getCurrentSim().getEngine().setTimeWarp(timeWarp);
                 }
             }
         });
         gbc = new GridBagConstraints();
         gbc.gridx = 1;
-        gbc.gridy = 2;
+        gbc.gridy = 4;
         gbc.gridwidth = 3;
         gbc.fill = GridBagConstraints.HORIZONTAL;
         gbc.insets = new Insets(10, 5, 0, 5);
@@ -94,24 +139,37 @@ public class SimControlPanel extends JPanel {
         increase.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                if (speedPercent < MAX_SPEED) {
-                    speedPercent += DEC_INC_PERCENT;
-                    speedValue.setText(speedPercent + "%");
-                    double defaultDelta = SettingsWindow.getInstance().getSettingsPanel().getCurrentSim().getDefaultDeltaT();
-                    double delta = SettingsWindow.getInstance().getSettingsPanel().getCurrentSim().getDeltaT();
-                    delta += (defaultDelta * DEC_INC_PERCENT / 100);
-                    SettingsWindow.getInstance().getSettingsPanel().getCurrentSim().setDeltaT(delta);
+                if (timeWarp < MAX_TIME_WARP) {
+                    timeWarp *= TIME_WARP_STEP;
+                    speedValue.setText(formatFactor(timeWarp));
+                    SettingsWindow.getInstance().getSettingsPanel().getCurrentSim().getEngine().setTimeWarp(timeWarp);
                 }
             }
         });
         gbc = new GridBagConstraints();
         gbc.gridx = 4;
-        gbc.gridy = 2;
+        gbc.gridy = 4;
         gbc.gridwidth = 1;
         gbc.fill = GridBagConstraints.HORIZONTAL;
         gbc.insets = new Insets(10, 0, 0, 0);
         this.add(increase, gbc);
 
+        modeComboBox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                ExecutionMode mode = (ExecutionMode) modeComboBox.getSelectedItem();
+                SimulationEngine engine = SettingsWindow.getInstance().getSettingsPanel().getCurrentSim().getEngine();
+                engine.setExecutionMode(mode);
+
+                // The time warp factor is only used in time warp mode, and can't change while paused
+                boolean timeWarpMode = mode == ExecutionMode.TIME_WARP;
+                decrease.setEnabled(timeWarpMode && engine.isRunning());
+                increase.setEnabled(timeWarpMode && engine.isRunning());
+                speedValue.setText(timeWarpMode ? formatFactor(timeWarp) :
+                        mode == ExecutionMode.REAL_TIME ? formatFactor(1) : "∞");
+            }
+        });
+
         final JButton pause = new JButton("Pause");
         pause.addActionListener(new ActionListener() {
             // Is the simulation's main loop running?
@@ -119,6 +177,7 @@ public class SimControlPanel extends JPanel {
 
             @Override
             public void actionPerformed(ActionEvent e) {
+                boolean timeWarpMode = modeComboBox.getSelectedItem() == ExecutionMode.TIME_WARP;
                 if (isRunning) {
                     pause.setText("Lancer");
                     decrease.setEnabled(false);
@@ -127,8 +186,8 @@ public class SimControlPanel extends JPanel {
                     isRunning = false;
                 } else {
                     pause.setText("Pause");
-                    decrease.setEnabled(true);
-                    increase.setEnabled(true);
+                    decrease.setEnabled(timeWarpMode);
+                    increase.setEnabled(timeWarpMode);
                     SettingsWindow.getInstance().getSettingsPanel().getCurrentSim().startLoop();
                     isRunning = true;
                 }
@@ -138,7 +197,7 @@ public class SimControlPanel extends JPanel {
         pause.setMinimumSize(new Dimension(100, 26));
         gbc = new GridBagConstraints();
         gbc.gridx = 0;
-        gbc.gridy = 2;
+        gbc.gridy = 4;
         gbc.gridwidth = 1;
         gbc.fill = GridBagConstraints.HORIZONTAL;
         gbc.insets = new Insets(10, 0, 0, 0);
@@ -148,7 +207,7 @@ public class SimControlPanel extends JPanel {
         subtitle.setFont(new Font(null, Font.BOLD, 14));
         gbc = new GridBagConstraints();
         gbc.gridx = 0;
-        gbc.gridy = 3;
+        gbc.gridy = 5;
         gbc.gridwidth = 5;
         gbc.fill = GridBagConstraints.HORIZONTAL;
         gbc.insets = new Insets(10, 0, 0, 0);
@@ -157,7 +216,7 @@ public class SimControlPanel extends JPanel {
         final JLabel waitingTimeLabel = new JLabel("Temps d'attente moyen :");
         gbc = new GridBagConstraints();
         gbc.gridx = 0;
-        gbc.gridy = 4;
+        gbc.gridy = 6;
         gbc.gridwidth = 3;
         gbc.insets = new Insets(10, 0, 0, 0);
         gbc.fill = GridBagConstraints.HORIZONTAL;
@@ -167,7 +226,7 @@ public class SimControlPanel extends JPanel {
         waitingTimeValue.setHorizontalAlignment(JLabel.RIGHT);
         gbc = new GridBagConstraints();
         gbc.gridx = 3;
-        gbc.gridy = 4;
+        gbc.gridy = 6;
         gbc.gridwidth = 2;
         gbc.insets = new Insets(10, 0, 0, 0);
         gbc.fill = GridBagConstraints.HORIZONTAL;
@@ -176,7 +235,7 @@ public class SimControlPanel extends JPanel {
         final JLabel accidentCounterLabel = new JLabel("Compteur global d'accidents :");
         gbc = new GridBagConstraints();
         gbc.gridx = 0;
-        gbc.gridy = 5;
+        gbc.gridy = 7;
         gbc.gridwidth = 2;
         gbc.insets = new Insets(10, 0, 0, 0);
         gbc.fill = GridBagConstraints.HORIZONTAL;
@@ -186,7 +245,7 @@ public class SimControlPanel extends JPanel {
         accidentCounterValue.setHorizontalAlignment(JLabel.RIGHT);
         gbc = new GridBagConstraints();
         gbc.gridx = 3;
-        gbc.gridy = 5;
+        gbc.gridy = 7;
         gbc.gridwidth = 2;
         gbc.insets = new Insets(10, 0, 0, 0);
         gbc.fill = GridBagConstraints.HORIZONTAL;
@@ -195,7 +254,7 @@ public class SimControlPanel extends JPanel {
         final JLabel occupationLabel = new JLabel("Taux d'occupation du réseau :");
         gbc = new GridBagConstraints();
         gbc.gridx = 0;
-        gbc.gridy = 6;
+        gbc.gridy = 8;
         gbc.gridwidth = 2;
         gbc.insets = new Insets(10, 0, 0, 0);
         gbc.fill = GridBagConstraints.HORIZONTAL;
@@ -205,7 +264,7 @@ public class SimControlPanel extends JPanel {
         occupationValue.setHorizontalAlignment(JLabel.RIGHT);
         gbc = new GridBagConstraints();
         gbc.gridx = 3;
-        gbc.gridy = 6;
+        gbc.gridy = 8;
         gbc.gridwidth = 2;
         gbc.insets = new Insets(10, 0, 0, 0);
         gbc.fill = GridBagConstraints.HORIZONTAL;
@@ -223,7 +282,7 @@ public class SimControlPanel extends JPanel {
         });
         gbc = new GridBagConstraints();
         gbc.gridx = 0;
-        gbc.gridy = 7;
+        gbc.gridy = 9;
         gbc.gridwidth = 2;
         gbc.insets = new Insets(10, 0, 0, 30);
         this.add(newSim, gbc);
@@ -238,7 +297,7 @@ public class SimControlPanel extends JPanel {
         });
         gbc = new GridBagConstraints();
         gbc.gridx = 3;
-        gbc.gridy = 7;
+        gbc.gridy = 9;
         gbc.gridwidth = 2;
         gbc.insets = new Insets(10, 0, 0, 0);
         this.add(quit, gbc);
@@ -254,12 +313,43 @@ public class SimControlPanel extends JPanel {
         });
         gbc = new GridBagConstraints();
         gbc.gridx = 0;
-        gbc.gridy = 8;
+        gbc.gridy = 10;
         gbc.gridwidth = 2;
         gbc.insets = new Insets(40, 0, 0, 30);
         this.add(getStats, gbc);
 
-        setPreferredSize(new Dimension(360, 300));
+        // Refresh the achieved speed of the simulation on the event dispatch thread
+        refreshTimer = new Timer(REFRESH_PERIOD, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                Simulation simulation = SettingsWindow.getInstance().getSettingsPanel().getCurrentSim();
+                if (simulation != null) {
+                    realTimeFactorValue.setText(formatFactor(simulation.getEngine().getRealTimeFactor()));
+                }
+            }
+        });
+        refreshTimer.start();
+
+        setPreferredSize(new Dimension(360, 360));
+    }
+
+    /**
+     * Stop refreshing the achieved speed when the panel is removed from its window
+     */
+    @Override
+    public void removeNotify() {
+        refreshTimer.stop();
+        super.removeNotify();
+    }
+
+    /**
+     * Format a factor between simulated and wall-clock time
+     *
+     * @param factor the factor
+     * @return the factor, formatted like "x4.0"
+     */
+    private static String formatFactor(double factor) {
+        return String.format("x%.1f", factor);
     }
 
     /**
@@ -6,11 +6,12 @@
 package ch.heigvd.sitr.gui.simulation;
 
 import ch.heigvd.sitr.gui.settings.SettingsWindow;
+import ch.heigvd.sitr.model.FrameSnapshot;
+import ch.heigvd.sitr.vehicle.VehicleRenderer;
 import lombok.Getter;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.image.BufferedImage;
 
 /**
  * Simulation window class represent the main frame of the simulation. It contains a map panel, a simulation control
@@ -23,9 +24,20 @@ public class SimulationWindow implements Displayer {
     private static SimulationWindow instance;
 
     private JFrame frame;
-    private boolean backgroundChanged = false;
-    private final BufferedImage backgroundMapImage;
-    private BufferedImage foregroundMapImage;
+
+    // Images the map is painted with, reused for every frame
+    private MapBuffers buffers;
+
+    // Regions of the map changed since the last frame painted
+    private final DirtyRegions dirtyRegions = new DirtyRegions(MapPanel.WIDTH, MapPanel.HEIGHT);
+
+    // Snapshot of the vehicles shown on the map, only accessed from the event dispatch thread
+    @Getter
+    private FrameSnapshot snapshot;
+
+    // Interpolation factor the snapshot is shown with
+    @Getter
+    private double interpolation = 1;
 
     private MapPanel mapPanel;
 
@@ -60,7 +72,7 @@ public class SimulationWindow implements Displayer {
         gbc.gridx = 0;
         gbc.gridy = 0;
         gbc.gridheight = 2;
-        mapPanel = new MapPanel();
+        mapPanel = new MapPanel(this);
         panel.add(mapPanel, gbc);
         gbc = new GridBagConstraints();
         gbc.gridx = 1;
@@ -79,13 +91,9 @@ public class SimulationWindow implements Displayer {
         frame.pack();
         frame.setVisible(true);
 
-        // Create background image
-        backgroundMapImage = (BufferedImage) mapPanel.createImage(getMapWidth(), getMapHeight());
-        Graphics2D g = backgroundMapImage.createGraphics();
-        g.setPaint(Color.decode(mapPanel.getBackgroundColor()));
-        g.fillRect(0, 0, backgroundMapImage.getWidth(), backgroundMapImage.getHeight());
-
-        foregroundMapImage = createFgMapImage();
+        // Create the map images once
+        buffers = new MapBuffers(mapPanel, getMapWidth(), getMapHeight(),
+                Color.decode(mapPanel.getBackgroundColor()));
     }
 
     @Override
@@ -100,25 +108,63 @@ public class SimulationWindow implements Displayer {
 
     @Override
     public Graphics2D getSimulationPane() {
-        return (Graphics2D) foregroundMapImage.getGraphics();
+        return buffers.frameGraphics();
     }
 
     @Override
     public Graphics2D getBackgroundSimulationPane() {
-        // We assume that if we get background simulation pane, it's to draw something. So we
-        // have to repaint the background.
-        backgroundChanged = true;
-        return (Graphics2D) backgroundMapImage.getGraphics();
+        // The road layer is copied under the vehicles at each frame
+        return buffers.roadGraphics();
+    }
+
+    @Override
+    public void display(FrameSnapshot snapshot, double interpolation) {
+        this.snapshot = snapshot;
+        this.interpolation = interpolation;
+        dirtyRegions.update(snapshot, interpolation);
+
+        // The drawn path isn't tracked, redraw everything under it
+        if (DrawnPath.getInstance().getVehicle() != null) {
+            dirtyRegions.invalidate();
+        }
+
+        if (dirtyRegions.isFull()) {
+            mapPanel.repaint();
+        } else {
+            for (Rectangle region : dirtyRegions.getRegions()) {
+                mapPanel.repaint(region);
+            }
+        }
     }
 
     @Override
     public void repaint() {
-        if (backgroundChanged) {
-            mapPanel.getGraphics().drawImage(backgroundMapImage, 0, 0, null);
-            backgroundChanged = false;
+        dirtyRegions.invalidate();
+        mapPanel.repaint();
+    }
+
+    /**
+     * Paint the current frame : the background, the vehicles of the snapshot and the drawn path
+     * <p>
+     * Note: called by the map panel on the event dispatch thread
+     *
+     * @param g the graphics of the map panel
+     */
+    void paintFrame(Graphics g) {
+        // The images don't exist while the frame is being created
+        if (buffers == null) {
+            return;
         }
-        mapPanel.getGraphics().drawImage(foregroundMapImage, 0, 0, null);
-        foregroundMapImage = createFgMapImage();
+
+        buffers.render(g, dirtyRegions, (frameGraphics, region) -> {
+            if (snapshot != null) {
+                VehicleRenderer.getInstance().display(frameGraphics, snapshot, interpolation, region);
+            }
+
+            if (DrawnPath.getInstance().getVehicle() != null) {
+                DrawnPath.getInstance().paint(frameGraphics);
+            }
+        });
     }
 
     /**
@@ -134,17 +180,4 @@ public class SimulationWindow implements Displayer {
         // reset the reference to the simulation window
         instance = null;
     }
-
-    /**
-     * This method creates the foreground image on which to draw vehicles
-     *
-     * @return The created foreground image.
-     */
-    private BufferedImage createFgMapImage() {
-        BufferedImage tmp = (BufferedImage) mapPanel.createImage(getMapWidth(), getMapHeight());
-        Graphics2D g = tmp.createGraphics();
-        g.setComposite(AlphaComposite.SrcOver);
-        g.drawImage(backgroundMapImage, 0, 0, null);
-        return tmp;
-    }
 }
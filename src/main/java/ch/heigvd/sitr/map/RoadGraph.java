@@ -0,0 +1,237 @@
+/*
+ * Filename : RoadGraph.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.map;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the topology of a road network : a directed graph whose nodes are the
+ * road segments, identified by their index in the network, and whose edges lead from a segment
+ * to the segments a vehicle can drive into at its end
+ * <p>
+ * The graph is stored in compressed sparse row form : the successors of segment i are
+ * successors[successorOffsets[i]] to successors[successorOffsets[i + 1] - 1], sorted, and the
+ * same goes for the predecessors. Following a link is an array lookup. The graph is immutable.
+ */
+public class RoadGraph {
+    // Offsets of the successors of each segment, plus the total number of edges
+    private final int[] successorOffsets;
+    // Successors of all segments, row after row
+    private final int[] successors;
+    // Does each successor edge go through a junction
+    private final boolean[] junction;
+
+    // Offsets of the predecessors of each segment, plus the total number of edges
+    private final int[] predecessorOffsets;
+    // Predecessors of all segments, row after row
+    private final int[] predecessors;
+
+    /**
+     * Constructor
+     *
+     * @param segmentCount The number of segments of the network
+     * @param from         The segment each edge leaves
+     * @param to           The segment each edge enters
+     * @param junction     Does each edge go through a junction
+     * @param edgeCount    The number of edges given, duplicates being merged
+     */
+    public RoadGraph(int segmentCount, int[] from, int[] to, boolean[] junction, int edgeCount) {
+        // Sort the edges by origin then destination, so duplicates are adjacent
+        long[] edges = new long[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            checkSegment(from[e], segmentCount);
+            checkSegment(to[e], segmentCount);
+            edges[e] = ((long) from[e] << 33) | ((long) to[e] << 1) | (junction[e] ? 1 : 0);
+        }
+        Arrays.sort(edges);
+
+        int[] edgeFrom = new int[edgeCount];
+        int[] edgeTo = new int[edgeCount];
+        boolean[] edgeJunction = new boolean[edgeCount];
+        int count = 0;
+        for (long edge : edges) {
+            int origin = (int) (edge >>> 33);
+            int destination = (int) (edge >>> 1) & Integer.MAX_VALUE;
+            if (count > 0 && edgeFrom[count - 1] == origin && edgeTo[count - 1] == destination) {
+                // A link given by both roads, or a junction also given as a link
+                edgeJunction[count - 1] |= (edge & 1) != 0;
+                continue;
+            }
+
+            edgeFrom[count] = origin;
+            edgeTo[count] = destination;
+            edgeJunction[count] = (edge & 1) != 0;
+            count++;
+        }
+
+        successorOffsets = new int[segmentCount + 1];
+        successors = Arrays.copyOf(edgeTo, count);
+        this.junction = Arrays.copyOf(edgeJunction, count);
+        predecessorOffsets = new int[segmentCount + 1];
+        predecessors = new int[count];
+
+        for (int e = 0; e < count; e++) {
+            successorOffsets[edgeFrom[e] + 1]++;
+            predecessorOffsets[edgeTo[e] + 1]++;
+        }
+        for (int i = 0; i < segmentCount; i++) {
+            successorOffsets[i + 1] += successorOffsets[i];
+            predecessorOffsets[i + 1] += predecessorOffsets[i];
+        }
+
+        // Edges sorted by origin, so the predecessors of each segment come out sorted
+        int[] next = Arrays.copyOf(predecessorOffsets, segmentCount);
+        for (int e = 0; e < count; e++) {
+            predecessors[next[edgeTo[e]]++] = edgeFrom[e];
+        }
+    }
+
+    /**
+     * Create a graph without any edge
+     *
+     * @param segmentCount The number of segments of the network
+     * @return the graph
+     */
+    public static RoadGraph empty(int segmentCount) {
+        return new RoadGraph(segmentCount, new int[0], new int[0], new boolean[0], 0);
+    }
+
+    /**
+     * Get the number of segments in the graph
+     *
+     * @return the number of nodes
+     */
+    public int segmentCount() {
+        return successorOffsets.length - 1;
+    }
+
+    /**
+     * Get the number of edges in the graph
+     *
+     * @return the number of edges
+     */
+    public int edgeCount() {
+        return successors.length;
+    }
+
+    /**
+     * Get the first successor edge of a segment
+     *
+     * @param segment The index of the segment
+     * @return the index of its first successor edge
+     */
+    public int firstSuccessor(int segment) {
+        return successorOffsets[segment];
+    }
+
+    /**
+     * Get the end of the successor edges of a segment
+     *
+     * @param segment The index of the segment
+     * @return the index following its last successor edge
+     */
+    public int endSuccessor(int segment) {
+        return successorOffsets[segment + 1];
+    }
+
+    /**
+     * Get the segment a successor edge enters
+     *
+     * @param edge The index of the edge
+     * @return the index of the segment
+     */
+    public int successor(int edge) {
+        return successors[edge];
+    }
+
+    /**
+     * Does a successor edge go through a junction
+     *
+     * @param edge The index of the edge
+     * @return true if the edge is a junction connection
+     */
+    public boolean isJunction(int edge) {
+        return junction[edge];
+    }
+
+    /**
+     * Get the first predecessor of a segment
+     *
+     * @param segment The index of the segment
+     * @return the index of its first predecessor entry
+     */
+    public int firstPredecessor(int segment) {
+        return predecessorOffsets[segment];
+    }
+
+    /**
+     * Get the end of the predecessors of a segment
+     *
+     * @param segment The index of the segment
+     * @return the index following its last predecessor entry
+     */
+    public int endPredecessor(int segment) {
+        return predecessorOffsets[segment + 1];
+    }
+
+    /**
+     * Get a predecessor
+     *
+     * @param entry The index of the predecessor entry
+     * @return the index of the segment leading to the segment of the entry
+     */
+    public int predecessor(int entry) {
+        return predecessors[entry];
+    }
+
+    /**
+     * Get the number of successors of a segment
+     *
+     * @param segment The index of the segment
+     * @return the number of segments it leads to
+     */
+    public int successorCount(int segment) {
+        return successorOffsets[segment + 1] - successorOffsets[segment];
+    }
+
+    /**
+     * Get the number of predecessors of a segment
+     *
+     * @param segment The index of the segment
+     * @return the number of segments leading to it
+     */
+    public int predecessorCount(int segment) {
+        return predecessorOffsets[segment + 1] - predecessorOffsets[segment];
+    }
+
+    /**
+     * Does a segment lead to another one, by binary search in its sorted successors
+     *
+     * @param from The index of the first segment
+     * @param to   The index of the second segment
+     * @return true if there is an edge from the first segment to the second one
+     */
+    public boolean hasEdge(int from, int to) {
+        return Arrays.binarySearch(successors, successorOffsets[from], successorOffsets[from + 1], to) >= 0;
+    }
+
+    /**
+     * Check the index of a segment
+     *
+     * @param segment      The index of the segment
+     * @param segmentCount The number of segments of the network
+     */
+    private static void checkSegment(int segment, int segmentCount) {
+        if (segment < 0 || segment >= segmentCount) {
+            throw new IllegalArgumentException("No segment " + segment + " in a graph of " + segmentCount);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RoadGraph [segments=" + segmentCount() + ", edges=" + edgeCount() + "]";
+    }
+}
@@ -25,6 +25,27 @@ public class RoadNetwork implements Iterable<RoadSegment>, Renderable {
     @Setter
     private String name;    // Road network's name
 
+    @Getter
+    private double scale;   // Ratio px/m of the road network
+
+    private RoadGraph graph;    // Topology of the road network, null if it has no links
+
+    /**
+     * Constructor
+     */
+    public RoadNetwork() {
+        this(1);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param scale The ratio px/m used to compute the length in meters of the road segments
+     */
+    public RoadNetwork(double scale) {
+        this.scale = scale;
+    }
+
     /**
      * Returns the number of road segments in the road network
      *
@@ -35,16 +56,69 @@ public class RoadNetwork implements Iterable<RoadSegment>, Renderable {
     }
 
     /**
-     * Add a road segment to the road network
+     * Add a road segment to the road network, computing its length in meters
      *
      * @param roadSegment The road segment to add to the road network
      * @return The added road segment
      */
     public RoadSegment add(RoadSegment roadSegment) {
+        roadSegment.setScale(scale);
+        roadSegment.setIndex(roadSegments.size());
         roadSegments.add(roadSegment);
         return roadSegment;
     }
 
+    /**
+     * Returns a road segment from its index
+     *
+     * @param index The dense index of the road segment, in order of addition
+     * @return The road segment
+     */
+    public RoadSegment get(int index) {
+        return roadSegments.get(index);
+    }
+
+    /**
+     * Returns the topology of the road network
+     *
+     * @return The road graph, without any edge if no link was given
+     */
+    public RoadGraph getGraph() {
+        if (graph == null || graph.segmentCount() != roadSegments.size()) {
+            graph = RoadGraph.empty(roadSegments.size());
+        }
+
+        return graph;
+    }
+
+    /**
+     * Sets the topology of the road network
+     *
+     * @param graph The road graph, whose nodes are the indices of the road segments
+     */
+    public void setGraph(RoadGraph graph) {
+        if (graph.segmentCount() != roadSegments.size()) {
+            throw new IllegalArgumentException("The graph has " + graph.segmentCount() +
+                    " segments, the road network " + roadSegments.size());
+        }
+
+        this.graph = graph;
+    }
+
+    /**
+     * Returns the total length of the road segments in the road network
+     *
+     * @return The total length [m]
+     */
+    public double lengthInMeters() {
+        double length = 0;
+        for (RoadSegment roadSegment : roadSegments) {
+            length += roadSegment.getLengthInMeters();
+        }
+
+        return length;
+    }
+
     @Override
     public Iterator<RoadSegment> iterator() {
         return roadSegments.iterator();
@@ -6,6 +6,7 @@
 package ch.heigvd.sitr.map;
 
 import ch.heigvd.sitr.map.roadmappings.RoadMapping;
+import ch.heigvd.sitr.utils.Conversions;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -18,10 +19,16 @@ public class RoadSegment {
     @Getter
     private final int id;                       // RoadSegment's id
     @Getter
+    private int index = -1;                     // RoadSegment's dense index in its road network
+    @Getter
     @Setter
     private String userId;                      // The userID specified in the .xodr file
     @Getter
     private final double roadLength;            // RoadSegment's length
+    private double lengthInMeters = Double.NaN; // RoadSegment's length in meters, set by the road network
+    @Getter
+    @Setter
+    private double speedLimit = Double.NaN;     // RoadSegment's speed limit [m/s], NaN if not given
     @Getter
     private final int laneCount;                // RoadSegment's number of lane
     private final LaneSegment[] laneSegments;   // RoadSegment contains lane segments
@@ -68,4 +75,39 @@ public class RoadSegment {
     public void setLaneType(int lane, Lane.Type laneType) {
         laneSegments[lane - 1].setType(laneType);
     }
+
+    /**
+     * Returns the length in meters of the road segment
+     * <p>
+     * Note: only known once the road segment was added to a road network, which gives its scale
+     *
+     * @return The length [m]
+     * @throws IllegalStateException if the road segment isn't in a road network
+     */
+    public double getLengthInMeters() {
+        if (Double.isNaN(lengthInMeters)) {
+            throw new IllegalStateException("the length in meters of roadSegment=" + id
+                    + " is unknown until it is added to a road network");
+        }
+
+        return lengthInMeters;
+    }
+
+    /**
+     * Compute the length in meters of the road segment once, for the given scale
+     *
+     * @param scale The ratio px/m of the road network
+     */
+    void setScale(double scale) {
+        lengthInMeters = Conversions.pixelsToMeters(scale, roadLength);
+    }
+
+    /**
+     * Set the index of the road segment in its road network, used as node of the road graph
+     *
+     * @param index The dense index of the road segment
+     */
+    void setIndex(int index) {
+        this.index = index;
+    }
 }
@@ -0,0 +1,475 @@
+/*
+ * Filename : RoutingService.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.map;
+
+import ch.heigvd.sitr.utils.Conversions;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class computes the shortest or fastest routes between the road segments of a road network
+ * <p>
+ * The cost of a route is either its length, or its travel time at the speed limits of its segments.
+ * <p>
+ * Routes are searched with A* over the road graph, guided by landmarks (ALT) : the distances
+ * from and to a few landmark segments are computed once, and the triangle inequality turns them
+ * into a lower bound of the distance left, so searches only explore the segments heading for the
+ * destination. The cost of a route is the cost of the segments entered after its origin.
+ * The routes found are kept in a LRU cache keyed by origin and destination, so vehicles sharing
+ * them don't search the graph again.
+ */
+public class RoutingService {
+    // Default number of landmarks
+    public static final int DEFAULT_LANDMARKS = 4;
+
+    // Default maximum number of routes kept
+    public static final int DEFAULT_CACHE_CAPACITY = 1024;
+
+    // Speed assumed on the segments without a speed limit [m/s]
+    public static final double DEFAULT_SPEED = Conversions.kphToMps(50);
+
+    // Route cached for destinations that can't be reached
+    private static final int[] NO_ROUTE = new int[0];
+
+    // Topology of the road network
+    private final RoadGraph graph;
+
+    // What the routes minimise
+    @Getter
+    private final Cost costType;
+
+    // Length of each segment [m]
+    private final double[] length;
+
+    // Cost of entering each segment, its length [m] or its travel time [s]
+    private final double[] cost;
+
+    // Costs from each landmark to each segment, and from each segment to each landmark
+    private double[][] fromLandmark;
+    private double[][] toLandmark;
+
+    // Routes by origin and destination, in access order
+    private final LinkedHashMap<Long, int[]> routes;
+
+    // Search state, reused by each search
+    private final double[] distance;
+    private final int[] parent;
+    private final int[] visited;
+    private int search;
+    private final Heap heap;
+
+    // Number of graph searches made to answer route requests
+    @Getter
+    private long searchCount;
+
+    /**
+     * Constructor, computing the shortest routes
+     *
+     * @param roadNetwork The road network to route on
+     */
+    public RoutingService(RoadNetwork roadNetwork) {
+        this(roadNetwork, Cost.DISTANCE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param roadNetwork The road network to route on
+     * @param costType    What the routes minimise
+     */
+    public RoutingService(RoadNetwork roadNetwork, Cost costType) {
+        this(roadNetwork, costType, DEFAULT_LANDMARKS, DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * Constructor, choosing the landmarks and computing their costs
+     *
+     * @param roadNetwork   The road network to route on
+     * @param costType      What the routes minimise
+     * @param landmarks     The maximum number of landmarks
+     * @param cacheCapacity The maximum number of routes kept
+     */
+    public RoutingService(RoadNetwork roadNetwork, Cost costType, int landmarks, int cacheCapacity) {
+        graph = roadNetwork.getGraph();
+        this.costType = costType;
+        int n = graph.segmentCount();
+
+        length = new double[n];
+        cost = new double[n];
+        for (int i = 0; i < n; i++) {
+            RoadSegment roadSegment = roadNetwork.get(i);
+            length[i] = roadSegment.getLengthInMeters();
+            cost[i] = costType == Cost.DISTANCE ? length[i] : length[i] / speed(roadSegment);
+        }
+
+        distance = new double[n];
+        parent = new int[n];
+        visited = new int[n];
+        heap = new Heap(n);
+
+        routes = new LinkedHashMap<Long, int[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
+
+        // Choose the landmarks farthest from the ones already chosen
+        int count = Math.min(landmarks, n);
+        fromLandmark = new double[count][];
+        toLandmark = new double[count][];
+        double[] closest = new double[n];
+        Arrays.fill(closest, Double.POSITIVE_INFINITY);
+        int landmark = 0;
+        for (int l = 0; l < count; l++) {
+            fromLandmark[l] = distances(landmark, true);
+            toLandmark[l] = distances(landmark, false);
+
+            int farthest = -1;
+            for (int i = 0; i < n; i++) {
+                closest[i] = Math.min(closest[i], Math.min(fromLandmark[l][i], toLandmark[l][i]));
+                if (closest[i] > 0 && (farthest < 0 || finiteFirst(closest[i], closest[farthest]))) {
+                    farthest = i;
+                }
+            }
+            if (farthest < 0) {
+                // Every segment is a landmark already
+                fromLandmark = Arrays.copyOf(fromLandmark, l + 1);
+                toLandmark = Arrays.copyOf(toLandmark, l + 1);
+                break;
+            }
+            landmark = farthest;
+        }
+    }
+
+    /**
+     * Get the cheapest route between two segments
+     *
+     * @param origin      The index of the first segment of the route
+     * @param destination The index of the last segment of the route
+     * @return the indices of the segments of the route, from the origin to the destination, or
+     * null if the destination can't be reached. The route is shared and must not be modified.
+     */
+    public synchronized int[] route(int origin, int destination) {
+        long key = ((long) origin << 32) | (destination & 0xFFFFFFFFL);
+        int[] route = routes.get(key);
+        if (route == null) {
+            route = search(origin, destination);
+            routes.put(key, route);
+        }
+
+        return route == NO_ROUTE ? null : route;
+    }
+
+    /**
+     * Get the length of a route
+     *
+     * @param route The indices of the segments of the route
+     * @return the length of the segments entered after the origin [m]
+     */
+    public double length(int[] route) {
+        double length = 0;
+        for (int i = 1; i < route.length; i++) {
+            length += this.length[route[i]];
+        }
+
+        return length;
+    }
+
+    /**
+     * Get the cost of a route
+     *
+     * @param route The indices of the segments of the route
+     * @return the cost of the segments entered after the origin, [m] or [s] depending on the cost
+     */
+    public double cost(int[] route) {
+        double cost = 0;
+        for (int i = 1; i < route.length; i++) {
+            cost += this.cost[route[i]];
+        }
+
+        return cost;
+    }
+
+    /**
+     * Get the speed at which a segment is driven when computing travel times
+     *
+     * @param roadSegment The road segment
+     * @return its speed limit, DEFAULT_SPEED if it has none [m/s]
+     */
+    private static double speed(RoadSegment roadSegment) {
+        double speedLimit = roadSegment.getSpeedLimit();
+        return Double.isNaN(speedLimit) || speedLimit <= 0 ? DEFAULT_SPEED : speedLimit;
+    }
+
+    /**
+     * Search the cheapest route between two segments with A*
+     *
+     * @param origin      The index of the first segment of the route
+     * @param destination The index of the last segment of the route
+     * @return the route, NO_ROUTE if the destination can't be reached
+     */
+    private int[] search(int origin, int destination) {
+        searchCount++;
+        startSearch();
+        reach(origin, 0, -1, heuristic(origin, destination));
+
+        while (!heap.isEmpty()) {
+            int segment = heap.poll();
+            if (segment == destination) {
+                return path(destination);
+            }
+
+            for (int e = graph.firstSuccessor(segment); e < graph.endSuccessor(segment); e++) {
+                int next = graph.successor(e);
+                double d = distance[segment] + cost[next];
+                if (visited[next] != search || d < distance[next]) {
+                    reach(next, d, segment, d + heuristic(next, destination));
+                }
+            }
+        }
+
+        return NO_ROUTE;
+    }
+
+    /**
+     * Compute the costs from or to a segment with Dijkstra's algorithm
+     *
+     * @param source  The index of the segment
+     * @param forward True for the costs from the segment, false for the costs to it
+     * @return the cost of each segment, infinite if unreachable
+     */
+    private double[] distances(int source, boolean forward) {
+        startSearch();
+        reach(source, 0, -1, 0);
+
+        while (!heap.isEmpty()) {
+            int segment = heap.poll();
+            int first = forward ? graph.firstSuccessor(segment) : graph.firstPredecessor(segment);
+            int end = forward ? graph.endSuccessor(segment) : graph.endPredecessor(segment);
+
+            for (int e = first; e < end; e++) {
+                int next = forward ? graph.successor(e) : graph.predecessor(e);
+                // Entering next forward, entering segment backward
+                double d = distance[segment] + (forward ? cost[next] : cost[segment]);
+                if (visited[next] != search || d < distance[next]) {
+                    reach(next, d, segment, d);
+                }
+            }
+        }
+
+        double[] distances = new double[distance.length];
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = visited[i] == search ? distance[i] : Double.POSITIVE_INFINITY;
+        }
+
+        return distances;
+    }
+
+    /**
+     * Get a lower bound of the cost between two segments, from the landmarks
+     *
+     * @param from The index of the first segment
+     * @param to   The index of the second segment
+     * @return the lower bound
+     */
+    private double heuristic(int from, int to) {
+        double bound = 0;
+        for (int l = 0; l < fromLandmark.length; l++) {
+            // d(from, to) >= d(landmark, to) - d(landmark, from)
+            double before = fromLandmark[l][to] - fromLandmark[l][from];
+            if (!Double.isNaN(before) && !Double.isInfinite(before) && before > bound) {
+                bound = before;
+            }
+
+            // d(from, to) >= d(from, landmark) - d(to, landmark)
+            double after = toLandmark[l][from] - toLandmark[l][to];
+            if (!Double.isNaN(after) && !Double.isInfinite(after) && after > bound) {
+                bound = after;
+            }
+        }
+
+        return bound;
+    }
+
+    /**
+     * Start a new search, forgetting the segments reached by the previous one
+     */
+    private void startSearch() {
+        search++;
+        heap.clear();
+    }
+
+    /**
+     * Reach a segment by a shorter path
+     *
+     * @param segment  The index of the segment
+     * @param d        The distance of the path
+     * @param previous The segment before it on the path, -1 for the origin
+     * @param priority The priority of the segment in the heap
+     */
+    private void reach(int segment, double d, int previous, double priority) {
+        visited[segment] = search;
+        distance[segment] = d;
+        parent[segment] = previous;
+        heap.push(segment, priority);
+    }
+
+    /**
+     * Build the path leading to a segment
+     *
+     * @param destination The index of the last segment
+     * @return the indices of the segments, from the origin
+     */
+    private int[] path(int destination) {
+        int length = 0;
+        for (int segment = destination; segment >= 0; segment = parent[segment]) {
+            length++;
+        }
+
+        int[] path = new int[length];
+        for (int segment = destination; segment >= 0; segment = parent[segment]) {
+            path[--length] = segment;
+        }
+
+        return path;
+    }
+
+    /**
+     * Compare two distances to the landmarks, preferring farther finite ones
+     *
+     * @param a The first distance
+     * @param b The second distance
+     * @return true if a is finite and b isn't, or both are finite and a is farther
+     */
+    private static boolean finiteFirst(double a, double b) {
+        if (Double.isInfinite(a)) {
+            return false;
+        }
+
+        return Double.isInfinite(b) || a > b;
+    }
+
+    /**
+     * Binary min-heap of segments with decrease-key, allocated once
+     */
+    private static class Heap {
+        // Segments in heap order
+        private final int[] segments;
+        // Priority of each segment
+        private final double[] priorities;
+        // Position of each segment in the heap, -1 if it isn't in it
+        private final int[] positions;
+        // Number of segments in the heap
+        private int size;
+
+        /**
+         * Constructor
+         *
+         * @param capacity The number of segments
+         */
+        Heap(int capacity) {
+            segments = new int[capacity];
+            priorities = new double[capacity];
+            positions = new int[capacity];
+            Arrays.fill(positions, -1);
+        }
+
+        /**
+         * Is the heap empty
+         *
+         * @return true if there is no segment in the heap
+         */
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Remove every segment
+         */
+        void clear() {
+            for (int i = 0; i < size; i++) {
+                positions[segments[i]] = -1;
+            }
+            size = 0;
+        }
+
+        /**
+         * Insert a segment, or lower its priority if it is already in the heap
+         *
+         * @param segment  The index of the segment
+         * @param priority Its priority
+         */
+        void push(int segment, double priority) {
+            int i = positions[segment];
+            if (i < 0) {
+                i = size++;
+            } else if (priority >= priorities[segment]) {
+                return;
+            }
+
+            priorities[segment] = priority;
+            while (i > 0 && priorities[segments[(i - 1) / 2]] > priority) {
+                move(segments[(i - 1) / 2], i);
+                i = (i - 1) / 2;
+            }
+            move(segment, i);
+        }
+
+        /**
+         * Remove the segment with the lowest priority
+         *
+         * @return the index of the segment
+         */
+        int poll() {
+            int top = segments[0];
+            positions[top] = -1;
+
+            int last = segments[--size];
+            if (size > 0) {
+                int i = 0;
+                while (2 * i + 1 < size) {
+                    int child = 2 * i + 1;
+                    if (child + 1 < size && priorities[segments[child + 1]] < priorities[segments[child]]) {
+                        child++;
+                    }
+                    if (priorities[segments[child]] >= priorities[last]) {
+                        break;
+                    }
+                    move(segments[child], i);
+                    i = child;
+                }
+                move(last, i);
+            }
+
+            return top;
+        }
+
+        /**
+         * Place a segment in the heap
+         *
+         * @param segment  The index of the segment
+         * @param position Its position in the heap
+         */
+        private void move(int segment, int position) {
+            segments[position] = segment;
+            positions[segment] = position;
+        }
+    }
+
+    /**
+     * What the routes minimise
+     */
+    public enum Cost {
+        // The length of the route
+        DISTANCE,
+        // The time to drive the route at the speed limits
+        TRAVEL_TIME
+    }
+}
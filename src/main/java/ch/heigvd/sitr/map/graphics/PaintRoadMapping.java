@@ -9,9 +9,11 @@ import ch.heigvd.sitr.map.roadmappings.AngleAndPos;
 import ch.heigvd.sitr.map.roadmappings.RoadMapping;
 import ch.heigvd.sitr.map.roadmappings.RoadMappingArc;
 import ch.heigvd.sitr.map.roadmappings.RoadMappingLine;
+import ch.heigvd.sitr.map.roadmappings.RoadMappingPoly;
 
 import java.awt.*;
 import java.awt.geom.Arc2D;
+import java.awt.geom.Path2D;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 
@@ -19,6 +21,9 @@ import java.awt.geom.Point2D;
  * This class is used to optimize drawing of road segment base on the type of their road mapping
  */
 public final class PaintRoadMapping {
+    // Maximum length of the segments approximating a road without dedicated shape
+    private static final double MAX_SEGMENT_LENGTH = 2.0;
+
     /**
      * Private constructor to avoid instantiation
      */
@@ -69,8 +74,22 @@ public final class PaintRoadMapping {
 
             arc2D.setArcByCenter(centerX, centerY, radius, startAngle, arcAngle, Arc2D.OPEN);
             g.draw(arc2D);
-        }
+        } else if (roadMappingClass == RoadMappingPoly.class) {
+            for (RoadMapping part : ((RoadMappingPoly) roadMapping).getRoadMappings()) {
+                paintRoadMapping(g, part, lateralOffset);
+            }
+        } else {
+            // Approximate the road with a polyline
+            int segments = Math.max(1, (int) Math.ceil(roadMapping.getRoadLength() / MAX_SEGMENT_LENGTH));
+            final Path2D.Double path = new Path2D.Double();
 
-        // TODO (tum) Handle other type of road mapping
+            angleAndPos = roadMapping.startPos(lateralOffset);
+            path.moveTo(angleAndPos.getX(), angleAndPos.getY());
+            for (int i = 1; i <= segments; i++) {
+                angleAndPos = roadMapping.posAt(roadMapping.getRoadLength() * i / segments, lateralOffset);
+                path.lineTo(angleAndPos.getX(), angleAndPos.getY());
+            }
+            g.draw(path);
+        }
     }
 }
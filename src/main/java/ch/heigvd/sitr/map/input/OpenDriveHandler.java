@@ -9,12 +9,16 @@ package ch.heigvd.sitr.map.input;
 import ch.heigvd.sitr.autogen.opendrive.OpenDRIVE;
 import ch.heigvd.sitr.autogen.opendrive.OpenDRIVE.Controller;
 import ch.heigvd.sitr.autogen.opendrive.OpenDRIVE.Controller.Control;
+import ch.heigvd.sitr.autogen.opendrive.OpenDRIVE.Junction;
+import ch.heigvd.sitr.autogen.opendrive.OpenDRIVE.Junction.Connection;
 import ch.heigvd.sitr.autogen.opendrive.OpenDRIVE.Road;
 import ch.heigvd.sitr.autogen.opendrive.OpenDRIVE.Road.Lanes.LaneSection;
+import ch.heigvd.sitr.autogen.opendrive.OpenDRIVE.Road.Link;
 import ch.heigvd.sitr.autogen.opendrive.OpenDRIVE.Road.PlanView.Geometry;
 
 import ch.heigvd.sitr.map.Lane;
 import ch.heigvd.sitr.map.Lane.LaneSectionType;
+import ch.heigvd.sitr.map.RoadGraph;
 import ch.heigvd.sitr.map.RoadNetwork;
 import ch.heigvd.sitr.map.RoadSegment;
 import ch.heigvd.sitr.map.roadmappings.LaneGeometries;
@@ -24,7 +28,9 @@ import ch.heigvd.sitr.map.roadmappings.RoadMappingUtils;
 
 import javax.xml.transform.stream.StreamSource;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
@@ -36,9 +42,22 @@ import java.util.logging.Logger;
 public class OpenDriveHandler {
     private static final Logger LOG = Logger.getLogger(OpenDriveHandler.class.getName());
 
+    // Maximum distance between two positions sampled along a road, in map units. The mapping
+    // error stays below curvature * spacing² / 8, far below a pixel for the radii of our maps
+    private static final double POSITION_TABLE_SPACING = 1.0;
+
     // Mapping the signal-ids of single traffic lights to controller
     private final Map<String, Controller> signalIdsToController = new HashMap<>();
 
+    // Road segments created for each road id, indexed by lane section type ordinal
+    private final Map<String, RoadSegment[]> roadIdsToSegments = new HashMap<>();
+
+    // Edges of the road graph being built : origin, destination and junction flag of each edge
+    private int[] edgeFrom = new int[16];
+    private int[] edgeTo = new int[16];
+    private boolean[] edgeJunction = new boolean[16];
+    private int edgeCount;
+
     /**
      * This method reads the OpenDRIVE format file and create the road network
      *
@@ -64,6 +83,7 @@ public class OpenDriveHandler {
     private void create(OpenDRIVE openDriveNetwork, RoadNetwork roadNetwork) {
         createControllerMapping(openDriveNetwork, roadNetwork);
         createRoadSegments(openDriveNetwork, roadNetwork);
+        createRoadGraph(openDriveNetwork, roadNetwork);
     }
 
     /**
@@ -102,6 +122,8 @@ public class OpenDriveHandler {
                                 + road.getId());
                     }
                     roadNetwork.add(roadSegment);
+                    roadIdsToSegments.computeIfAbsent(road.getId(),
+                            id -> new RoadSegment[LaneSectionType.values().length])[laneType.ordinal()] = roadSegment;
                     LOG.log(Level.INFO, "created roadSegment={0} with laneCount={1}",
                             new Object[]{roadSegment.getUserId(), roadSegment.getLaneCount()});
                 }
@@ -110,6 +132,118 @@ public class OpenDriveHandler {
         LOG.log(Level.INFO, "created {0} roadSegments.", roadNetwork.size());
     }
 
+    /**
+     * This method creates the topology of the road network from the links of the roads and the
+     * connections of the junctions
+     * <p>
+     * Note: road segments are driven along the reference line of their road (see the reverse
+     * direction TODO below), so a link can only lead from the end of a road to the start of the
+     * other road, between the segments of the same lane section type
+     *
+     * @param openDriveNetwork Generated data from the OpenDRIVE XML file
+     * @param roadNetwork      The road network that will be built from generated data
+     */
+    private void createRoadGraph(OpenDRIVE openDriveNetwork, RoadNetwork roadNetwork) {
+        // Road links by the ids of the roads they join, false once a road gives it backwards
+        Map<List<String>, Boolean> roadLinks = new LinkedHashMap<>();
+
+        for (Road road : openDriveNetwork.getRoad()) {
+            if (!road.isSetLink()) {
+                continue;
+            }
+
+            // The end of the road meets the successor, which must be entered by its start
+            Link link = road.getLink();
+            if (link.isSetSuccessor() && "road".equals(link.getSuccessor().getElementType())) {
+                addRoadLink(roadLinks, road.getId(), link.getSuccessor().getElementId(),
+                        link.getSuccessor().getContactPoint(), "start");
+            }
+            // The start of the road meets the predecessor, which must be left by its end
+            if (link.isSetPredecessor() && "road".equals(link.getPredecessor().getElementType())) {
+                addRoadLink(roadLinks, link.getPredecessor().getElementId(), road.getId(),
+                        link.getPredecessor().getContactPoint(), "end");
+            }
+        }
+
+        for (Map.Entry<List<String>, Boolean> roadLink : roadLinks.entrySet()) {
+            if (roadLink.getValue()) {
+                addEdges(roadLink.getKey().get(0), roadLink.getKey().get(1), false);
+            }
+        }
+
+        for (Junction junction : openDriveNetwork.getJunction()) {
+            for (Connection connection : junction.getConnection()) {
+                if ("end".equals(connection.getContactPoint())) {
+                    LOG.log(Level.WARNING, "connection={0} of junction={1} drives its connecting " +
+                            "road backwards, ignored.", new Object[]{connection.getId(), junction.getId()});
+                    continue;
+                }
+                addEdges(connection.getIncomingRoad(), connection.getConnectingRoad(), true);
+            }
+        }
+
+        RoadGraph graph = new RoadGraph(roadNetwork.size(), edgeFrom, edgeTo, edgeJunction, edgeCount);
+        roadNetwork.setGraph(graph);
+        LOG.log(Level.INFO, "created road graph with {0} edges.", graph.edgeCount());
+    }
+
+    /**
+     * This method records a link between two roads given by one of them, which can only be driven
+     * forward if it leads from the end of the first road to the start of the second one. A link
+     * given backwards by either road is ignored, even if the other road gives it forward
+     *
+     * @param roadLinks      The road links recorded so far, by the ids of the roads they join
+     * @param fromRoadId     The id of the road left
+     * @param toRoadId       The id of the road entered
+     * @param contactPoint   The contact point on the linked road, null if not given
+     * @param forwardContact The contact point on the linked road driving the link forward
+     */
+    private void addRoadLink(Map<List<String>, Boolean> roadLinks, String fromRoadId, String toRoadId,
+                             String contactPoint, String forwardContact) {
+        List<String> key = Arrays.asList(fromRoadId, toRoadId);
+        boolean forward = contactPoint == null || forwardContact.equals(contactPoint);
+        if (!forward) {
+            LOG.log(Level.WARNING, "link from road={0} to road={1} joins their {2}s, it can't be " +
+                    "driven forward, ignored.", new Object[]{fromRoadId, toRoadId, contactPoint});
+        }
+
+        roadLinks.put(key, forward && roadLinks.getOrDefault(key, true));
+    }
+
+    /**
+     * This method adds the edges leading from the segments of a road to the segments of another
+     * road with the same lane section type
+     *
+     * @param fromRoadId The id of the road left
+     * @param toRoadId   The id of the road entered
+     * @param junction   Is the link a junction connection
+     */
+    private void addEdges(String fromRoadId, String toRoadId, boolean junction) {
+        RoadSegment[] from = roadIdsToSegments.get(fromRoadId);
+        RoadSegment[] to = roadIdsToSegments.get(toRoadId);
+        if (from == null || to == null) {
+            LOG.log(Level.WARNING, "link from road={0} to road={1} references an unknown road, " +
+                    "ignored.", new Object[]{fromRoadId, toRoadId});
+            return;
+        }
+
+        for (int side = 0; side < from.length; side++) {
+            if (from[side] == null || to[side] == null) {
+                continue;
+            }
+
+            if (edgeCount == edgeFrom.length) {
+                edgeFrom = Arrays.copyOf(edgeFrom, 2 * edgeCount);
+                edgeTo = Arrays.copyOf(edgeTo, 2 * edgeCount);
+                edgeJunction = Arrays.copyOf(edgeJunction, 2 * edgeCount);
+            }
+            edgeFrom[edgeCount] = from[side].getIndex();
+            edgeTo[edgeCount] = to[side].getIndex();
+            edgeJunction[edgeCount] = junction;
+            edgeCount++;
+        }
+    }
+
     /**
      * This method checks if the road has a lane section type
      *
@@ -159,6 +293,16 @@ public class OpenDriveHandler {
             setLaneType(laneIndex, lane, roadSegment);
         }
 
+        // The speed limit of the road segment is the lowest one given for its lanes
+        for (ch.heigvd.sitr.autogen.opendrive.Lane lane : lanes) {
+            for (ch.heigvd.sitr.autogen.opendrive.Lane.Speed speed : lane.getSpeed()) {
+                if (speed.isSetMax() && (Double.isNaN(roadSegment.getSpeedLimit())
+                        || speed.getMax() < roadSegment.getSpeedLimit())) {
+                    roadSegment.setSpeedLimit(speed.getMax());
+                }
+            }
+        }
+
         // TODO (tum) Manage road objects here
         // TODO (tum) Manage road signals here
         return roadSegment;
@@ -190,8 +334,10 @@ public class OpenDriveHandler {
         List<RoadGeometry> roadGeometries =
                 createRoadGeometries(road.getPlanView().getGeometry(), laneGeometries);
 
-        // Create the road mapping
-        return RoadMappingUtils.create(roadGeometries);
+        // Create the road mapping, sampled once so mapping positions costs the same on any geometry
+        RoadMapping roadMapping = RoadMappingUtils.create(roadGeometries);
+        roadMapping.tabulate(POSITION_TABLE_SPACING);
+        return roadMapping;
     }
 
     /**
@@ -15,11 +15,15 @@ public class AngleAndPos {
     protected double x;         // x-coordinate
     @Getter
     protected double y;         // y-coordinate
+    @Getter
     protected double cosTheta;  // cosine of angle
+    @Getter
     protected double sinTheta;  // sine of angle
 
     /**
      * Get the angle, in radians, measured counter-clockwise from x-axis.
+     * <p>
+     * Note: prefer the cosine and sine where possible, this computes an arc tangent
      *
      * @return Angle, in radians, measure counter-clockwise from x-axis
      */
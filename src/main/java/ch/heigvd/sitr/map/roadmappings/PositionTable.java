@@ -0,0 +1,103 @@
+/*
+ * Filename : PositionTable.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.map.roadmappings;
+
+/**
+ * This class holds positions of a road mapping sampled at regular intervals along the road, so
+ * mapping a position only costs a few multiply-adds whatever the geometry of the road
+ * <p>
+ * Each sample holds the position of the reference line, the change of position per unit of
+ * lateral offset and the direction of the road. Positions in between are interpolated linearly:
+ * on a road of curvature k sampled every h, the error stays below k * h² / 8.
+ */
+class PositionTable {
+    // Distance between two samples along the road
+    private final double spacing;
+    private final double inverseSpacing;
+
+    // Position of the reference line at each sample
+    private final double[] x;
+    private final double[] y;
+
+    // Change of position per unit of lateral offset at each sample
+    private final double[] lateralX;
+    private final double[] lateralY;
+
+    // Direction of the road at each sample
+    private final double[] cosTheta;
+    private final double[] sinTheta;
+
+    /**
+     * Sample a road mapping
+     *
+     * @param roadMapping The road mapping to sample
+     * @param maxSpacing  The maximum distance between two samples along the road
+     */
+    PositionTable(RoadMapping roadMapping, double maxSpacing) {
+        if (maxSpacing <= 0) {
+            throw new IllegalArgumentException("The spacing of the samples must be positive: " + maxSpacing);
+        }
+
+        double length = roadMapping.getRoadLength();
+        int intervals = Math.max(1, (int) Math.ceil(length / maxSpacing));
+        spacing = length > 0 ? length / intervals : maxSpacing;
+        inverseSpacing = 1 / spacing;
+
+        x = new double[intervals + 1];
+        y = new double[intervals + 1];
+        lateralX = new double[intervals + 1];
+        lateralY = new double[intervals + 1];
+        cosTheta = new double[intervals + 1];
+        sinTheta = new double[intervals + 1];
+
+        AngleAndPos pos = new AngleAndPos();
+        for (int i = 0; i <= intervals; i++) {
+            double roadPos = i * spacing;
+            roadMapping.mapPosition(roadPos, 0, pos);
+            x[i] = pos.x;
+            y[i] = pos.y;
+            cosTheta[i] = pos.cosTheta;
+            sinTheta[i] = pos.sinTheta;
+
+            // Road mappings are affine in the lateral offset
+            roadMapping.mapPosition(roadPos, 1, pos);
+            lateralX[i] = pos.x - x[i];
+            lateralY[i] = pos.y - y[i];
+        }
+    }
+
+    /**
+     * Interpolate the position at a certain position along the road, extrapolating linearly
+     * outside the road
+     *
+     * @param roadPos       The position along the road
+     * @param lateralOffset The lateral offset
+     * @param pos           The position in which to write the result
+     * @return the position in space and the direction
+     */
+    AngleAndPos posAt(double roadPos, double lateralOffset, AngleAndPos pos) {
+        double u = roadPos * inverseSpacing;
+        int i = Math.max(0, Math.min(x.length - 2, (int) Math.floor(u)));
+        double t = u - i;
+
+        pos.x = x[i] + t * (x[i + 1] - x[i])
+                + lateralOffset * (lateralX[i] + t * (lateralX[i + 1] - lateralX[i]));
+        pos.y = y[i] + t * (y[i + 1] - y[i])
+                + lateralOffset * (lateralY[i] + t * (lateralY[i + 1] - lateralY[i]));
+        pos.cosTheta = cosTheta[i] + t * (cosTheta[i + 1] - cosTheta[i]);
+        pos.sinTheta = sinTheta[i] + t * (sinTheta[i + 1] - sinTheta[i]);
+        return pos;
+    }
+
+    /**
+     * Get the distance between two samples
+     *
+     * @return the spacing along the road
+     */
+    double getSpacing() {
+        return spacing;
+    }
+}
@@ -28,11 +28,14 @@ public abstract class RoadMapping {
     protected Color roadColor;
     protected static Color defaultRoadColor = new Color(129, 128, 128);
 
-    // Positioning properties
+    // Position returned by posAt without output, overwritten by each call
     protected final AngleAndPos posTheta = new AngleAndPos();
     protected double x0;
     protected double y0;
 
+    // Sampled positions used instead of the geometry, null if the road isn't tabulated
+    private PositionTable positionTable;
+
     /**
      * Constructor
      *
@@ -146,11 +149,62 @@ public abstract class RoadMapping {
     }
 
     /**
-     * This method maps the road position with the lateral offset
+     * This method maps the road position with the lateral offset, from the position table if
+     * the road is tabulated
+     * <p>
+     * Note: the position returned is shared by the mapping and overwritten by the next call
      *
      * @param roadPos       The road position
      * @param lateralOffset The lateral offset
      * @return The position in space and the direction
      */
-    public abstract AngleAndPos posAt(double roadPos, double lateralOffset);
+    public AngleAndPos posAt(double roadPos, double lateralOffset) {
+        return posAt(roadPos, lateralOffset, posTheta);
+    }
+
+    /**
+     * This method maps the road position with the lateral offset into a position owned by the
+     * caller, without allocating anything
+     *
+     * @param roadPos       The road position
+     * @param lateralOffset The lateral offset
+     * @param out           The position in which to write the result
+     * @return the position given, in space and with the direction
+     */
+    public AngleAndPos posAt(double roadPos, double lateralOffset, AngleAndPos out) {
+        if (positionTable != null) {
+            return positionTable.posAt(roadPos, lateralOffset, out);
+        }
+
+        return mapPosition(roadPos, lateralOffset, out);
+    }
+
+    /**
+     * Sample the road at regular intervals, so mapping a position only interpolates between
+     * two samples. On a road of curvature k, the error stays below k * spacing² / 8.
+     *
+     * @param spacing The maximum distance between two samples along the road
+     */
+    public void tabulate(double spacing) {
+        positionTable = new PositionTable(this, spacing);
+    }
+
+    /**
+     * Is the road mapped from a position table
+     *
+     * @return true if the road is tabulated
+     */
+    public boolean isTabulated() {
+        return positionTable != null;
+    }
+
+    /**
+     * This method maps the road position with the lateral offset, from the geometry of the road
+     *
+     * @param roadPos       The road position
+     * @param lateralOffset The lateral offset
+     * @param out           The position in which to write the result
+     * @return the position given, in space and with the direction
+     */
+    protected abstract AngleAndPos mapPosition(double roadPos, double lateralOffset, AngleAndPos out);
 }
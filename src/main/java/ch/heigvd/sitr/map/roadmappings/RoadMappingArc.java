@@ -31,6 +31,10 @@ public class RoadMappingArc extends RoadMapping {
     @Getter
     private double arcAngle;
 
+    // Direction of the start of the arc from its center
+    private final double cosStartAngle;
+    private final double sinStartAngle;
+
     /**
      * Constructor
      *
@@ -50,8 +54,10 @@ public class RoadMappingArc extends RoadMapping {
         this.arcAngle = roadLength * curvature;
         this.startX = startX;
         this.startY = startY;
-        this.centerX = startX - radius * Math.cos(this.startAngle);
-        this.centerY = startY + radius * Math.sin(this.startAngle);
+        this.cosStartAngle = Math.cos(this.startAngle);
+        this.sinStartAngle = Math.sin(this.startAngle);
+        this.centerX = startX - radius * cosStartAngle;
+        this.centerY = startY + radius * sinStartAngle;
     }
 
     /**
@@ -81,23 +87,28 @@ public class RoadMappingArc extends RoadMapping {
      *
      * @param posFromStart  Position from the arc start
      * @param lateralOffset The lateral offset
+     * @param out           The position in which to write the result
      * @return the angle and position
      */
     @Override
-    public AngleAndPos posAt(double posFromStart, double lateralOffset) {
+    protected AngleAndPos mapPosition(double posFromStart, double lateralOffset, AngleAndPos out) {
         // TODO: use lateral offset
         double angle = posFromStart / radius * (clockwise ? -1 : 1);
-        double totalAngle = startAngle + angle;
-        double x = centerX + radius * Math.cos(totalAngle) * (clockwise ? -1 : 1);
-        double y = centerY + radius * Math.sin(totalAngle) * (clockwise ? -1 : 1);
+        double sin = Math.sin(angle);
+        double cos = Math.cos(angle);
+
+        // Direction of the position from the center, from the start direction rotated by angle
+        double cosTotal = cosStartAngle * cos - sinStartAngle * sin;
+        double sinTotal = sinStartAngle * cos + cosStartAngle * sin;
+        double x = centerX + radius * cosTotal * (clockwise ? -1 : 1);
+        double y = centerY + radius * sinTotal * (clockwise ? -1 : 1);
 
-        AngleAndPos vehiclePos = new AngleAndPos();
-        vehiclePos.x = x;
-        vehiclePos.y = y;
-        vehiclePos.sinTheta = Math.sin(angle);
-        vehiclePos.cosTheta = Math.cos(angle);
+        out.x = x;
+        out.y = y;
+        out.sinTheta = sin;
+        out.cosTheta = cos;
 
-        return vehiclePos;
+        return out;
     }
 
     @Override
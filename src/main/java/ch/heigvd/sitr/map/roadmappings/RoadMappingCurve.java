@@ -0,0 +1,110 @@
+/*
+ * Filename : RoadMappingCurve.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.map.roadmappings;
+
+/**
+ * This class is used to map a road segment onto a curve without closed form, tabulated once
+ * <p>
+ * The position and heading of the reference line are sampled along the road when the mapping is
+ * created. Positions in between are interpolated with cubic Hermite splines, whose tangents are
+ * the exact headings of the samples, so the interpolation error stays far below a pixel.
+ */
+public abstract class RoadMappingCurve extends RoadMapping {
+    // Position of each sample along the road (s-coordinate)
+    private double[] s;
+
+    // Position (x, y inertial) and heading of the reference line at each sample
+    private double[] x;
+    private double[] y;
+    private double[] heading;
+
+    /**
+     * Constructor
+     *
+     * @param laneGeometries Lane's geometry in the road mapping
+     * @param x0             The start position of the plan view geometry (x inertial)
+     * @param y0             The start position of the plan view geometry (y inertial)
+     */
+    protected RoadMappingCurve(LaneGeometries laneGeometries, double x0, double y0) {
+        super(laneGeometries, x0, y0);
+    }
+
+    /**
+     * Set the samples of the reference line, the first one lying at the start of the road
+     *
+     * @param s       The position of each sample along the road, increasing
+     * @param x       The x coordinate of each sample
+     * @param y       The y coordinate of each sample
+     * @param heading The heading of each sample, without wrapping
+     */
+    protected void setSamples(double[] s, double[] x, double[] y, double[] heading) {
+        this.s = s;
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        roadLength = s[s.length - 1];
+    }
+
+    @Override
+    protected AngleAndPos mapPosition(double roadPos, double lateralOffset, AngleAndPos out) {
+        int i = sampleBefore(roadPos);
+        double ds = s[i + 1] - s[i];
+        double t = ds > 0 ? (roadPos - s[i]) / ds : 0;
+
+        // Cubic Hermite basis
+        double t2 = t * t;
+        double t3 = t2 * t;
+        double h00 = 2 * t3 - 3 * t2 + 1;
+        double h10 = t3 - 2 * t2 + t;
+        double h01 = -2 * t3 + 3 * t2;
+        double h11 = t3 - t2;
+
+        double cos0 = Math.cos(heading[i]);
+        double sin0 = Math.sin(heading[i]);
+        double cos1 = Math.cos(heading[i + 1]);
+        double sin1 = Math.sin(heading[i + 1]);
+        double theta = heading[i] + t * (heading[i + 1] - heading[i]);
+
+        out.sinTheta = Math.sin(theta);
+        out.cosTheta = Math.cos(theta);
+        out.x = h00 * x[i] + h10 * ds * cos0 + h01 * x[i + 1] + h11 * ds * cos1
+                - lateralOffset * out.sinTheta;
+        out.y = h00 * y[i] + h10 * ds * sin0 + h01 * y[i + 1] + h11 * ds * sin1
+                + lateralOffset * out.cosTheta;
+        return out;
+    }
+
+    /**
+     * Find the sample starting the interval holding a position, by binary search
+     *
+     * @param roadPos The position along the road
+     * @return the index of the sample, between 0 and the number of samples - 2
+     */
+    private int sampleBefore(double roadPos) {
+        int low = 0;
+        int high = s.length - 2;
+
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (s[middle] <= roadPos) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Get the number of samples of the reference line
+     *
+     * @return the number of samples
+     */
+    public int sampleCount() {
+        return s.length;
+    }
+}
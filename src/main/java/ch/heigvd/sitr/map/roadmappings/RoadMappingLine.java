@@ -15,6 +15,10 @@ public class RoadMappingLine extends RoadMapping {
     protected double x1;
     protected double y1;
 
+    // Direction of the line
+    private final double cosTheta;
+    private final double sinTheta;
+
     /**
      * Constructor
      *
@@ -29,10 +33,10 @@ public class RoadMappingLine extends RoadMapping {
                            double theta, double length) {
         super(laneGeometries, x0, y0);
         roadLength = length;
-        posTheta.sinTheta = Math.sin(theta);
-        posTheta.cosTheta = Math.cos(theta);
-        x1 = x0 + length * posTheta.cosTheta;
-        y1 = y0 + length * posTheta.sinTheta;
+        sinTheta = Math.sin(theta);
+        cosTheta = Math.cos(theta);
+        x1 = x0 + length * cosTheta;
+        y1 = y0 + length * sinTheta;
     }
 
     /**
@@ -58,10 +62,12 @@ public class RoadMappingLine extends RoadMapping {
     }
 
     @Override
-    public AngleAndPos posAt(double roadPos, double lateralOffset) {
-        posTheta.x = x0 + roadPos * posTheta.cosTheta - lateralOffset * posTheta.sinTheta;
-        posTheta.y = y0 + roadPos * posTheta.sinTheta + lateralOffset * posTheta.cosTheta;
-        return posTheta;
+    protected AngleAndPos mapPosition(double roadPos, double lateralOffset, AngleAndPos out) {
+        out.x = x0 + roadPos * cosTheta - lateralOffset * sinTheta;
+        out.y = y0 + roadPos * sinTheta + lateralOffset * cosTheta;
+        out.cosTheta = cosTheta;
+        out.sinTheta = sinTheta;
+        return out;
     }
 
     @Override
@@ -0,0 +1,124 @@
+/*
+ * Filename : RoadMappingPoly.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.map.roadmappings;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class is used to map a road segment made of several plan view geometries, chaining the
+ * road mappings of each geometry
+ * <p>
+ * The mapping holding a position is found by binary search over the positions at which each
+ * mapping starts, so mapping a position costs O(log k) for k geometries.
+ */
+public class RoadMappingPoly extends RoadMapping {
+    // Road mappings of the geometries, in order along the road
+    @Getter
+    private final List<RoadMapping> roadMappings;
+
+    // Position at which each road mapping starts along the road (s-coordinate)
+    private final double[] starts;
+
+    /**
+     * Constructor
+     *
+     * @param laneGeometries Lane's geometry in the road mapping
+     * @param roadMappings   The road mappings of the geometries, in order along the road
+     */
+    public RoadMappingPoly(LaneGeometries laneGeometries, List<RoadMapping> roadMappings) {
+        super(laneGeometries, roadMappings.get(0).x0, roadMappings.get(0).y0);
+        this.roadMappings = Collections.unmodifiableList(new ArrayList<>(roadMappings));
+
+        starts = new double[roadMappings.size()];
+        for (int i = 0; i < roadMappings.size(); i++) {
+            starts[i] = roadLength;
+            roadLength += roadMappings.get(i).getRoadLength();
+        }
+    }
+
+    /**
+     * This method creates the road mapping poly
+     *
+     * @param roadGeometries The road geometries of the road, in order along the road
+     * @return The created road mapping
+     */
+    public static RoadMappingPoly create(Iterable<RoadGeometry> roadGeometries) {
+        List<RoadMapping> roadMappings = new ArrayList<>();
+        LaneGeometries laneGeometries = null;
+
+        for (RoadGeometry roadGeometry : roadGeometries) {
+            laneGeometries = roadGeometry.getLaneGeometries();
+            roadMappings.add(RoadMappingUtils.create(roadGeometry));
+        }
+
+        if (roadMappings.isEmpty()) {
+            throw new IllegalArgumentException("A road needs at least one geometry");
+        }
+
+        return new RoadMappingPoly(laneGeometries, roadMappings);
+    }
+
+    @Override
+    protected AngleAndPos mapPosition(double roadPos, double lateralOffset, AngleAndPos out) {
+        int i = mappingAt(roadPos);
+        return roadMappings.get(i).posAt(roadPos - starts[i], lateralOffset, out);
+    }
+
+    /**
+     * Tabulate each road mapping of the road, so the table never smooths a junction between
+     * two geometries
+     *
+     * @param spacing The maximum distance between two samples along the road
+     */
+    @Override
+    public void tabulate(double spacing) {
+        for (RoadMapping roadMapping : roadMappings) {
+            roadMapping.tabulate(spacing);
+        }
+    }
+
+    @Override
+    public boolean isTabulated() {
+        for (RoadMapping roadMapping : roadMappings) {
+            if (!roadMapping.isTabulated()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Find the road mapping holding a position, by binary search
+     *
+     * @param roadPos The position along the road
+     * @return the index of the last mapping starting before the position, 0 if there is none
+     */
+    public int mappingAt(double roadPos) {
+        int low = 0;
+        int high = starts.length - 1;
+
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (starts[middle] <= roadPos) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return low;
+    }
+
+    @Override
+    public String toString() {
+        return "RoadMappingPoly [roadMappings=" + roadMappings + ", roadLength=" + roadLength + "]";
+    }
+}
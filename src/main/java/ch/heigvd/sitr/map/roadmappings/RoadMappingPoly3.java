@@ -0,0 +1,173 @@
+/*
+ * Filename : RoadMappingPoly3.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.map.roadmappings;
+
+import ch.heigvd.sitr.autogen.opendrive.OpenDRIVE.Road.PlanView.Geometry;
+
+/**
+ * This class is used to map a road segment onto a cubic polynomial v(u) = a + bu + cu² + du³,
+ * expressed in the frame given by the start position and heading of the geometry
+ * <p>
+ * The polynomial is parametrised by u, not by the position along the road, so it is sampled
+ * along u and the position of each sample is found by integrating its arc length.
+ */
+public class RoadMappingPoly3 extends RoadMappingCurve {
+    // Maximum arc length between two samples of the polynomial
+    private static final double MAX_SAMPLE_STEP = 1.0;
+
+    // Minimum number of intervals between samples
+    private static final int MIN_INTERVALS = 8;
+
+    // Polynomial coefficients
+    private final double a;
+    private final double b;
+    private final double c;
+    private final double d;
+
+    /**
+     * Constructor
+     *
+     * @param laneGeometries Lane's geometry in the road mapping
+     * @param x0             The start position of the plan view geometry (x inertial)
+     * @param y0             The start position of the plan view geometry (y inertial)
+     * @param theta          The heading of the u axis of the polynomial
+     * @param length         The length of the road along the polynomial
+     * @param a              The constant coefficient
+     * @param b              The linear coefficient
+     * @param c              The quadratic coefficient
+     * @param d              The cubic coefficient
+     */
+    public RoadMappingPoly3(LaneGeometries laneGeometries, double x0, double y0, double theta,
+                            double length, double a, double b, double c, double d) {
+        super(laneGeometries, x0, y0);
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.d = d;
+
+        double uEnd = endParameter(length);
+        int intervals = Math.max(MIN_INTERVALS, (int) Math.ceil(length / MAX_SAMPLE_STEP));
+        double step = uEnd / intervals;
+        double cos = Math.cos(theta);
+        double sin = Math.sin(theta);
+
+        double[] s = new double[intervals + 1];
+        double[] x = new double[intervals + 1];
+        double[] y = new double[intervals + 1];
+        double[] heading = new double[intervals + 1];
+        for (int i = 0; i <= intervals; i++) {
+            double u = i * step;
+            double v = v(u);
+            x[i] = x0 + u * cos - v * sin;
+            y[i] = y0 + u * sin + v * cos;
+            heading[i] = theta + Math.atan(slope(u));
+            if (i > 0) {
+                s[i] = s[i - 1] + arcLength(u - step, u);
+            }
+        }
+
+        setSamples(s, x, y, heading);
+    }
+
+    /**
+     * This method creates the road mapping poly3
+     *
+     * @param roadGeometry The road geometry
+     * @return The created road mapping
+     */
+    public static RoadMappingPoly3 create(RoadGeometry roadGeometry) {
+        return create(roadGeometry.getLaneGeometries(), roadGeometry.getGeometry());
+    }
+
+    /**
+     * This private method maps the road segment onto a cubic polynomial
+     *
+     * @param laneGeometries The lane geometries of the road
+     * @param geometry       OpenDRIVE plan view geometry
+     * @return The created road mapping
+     */
+    private static RoadMappingPoly3 create(LaneGeometries laneGeometries, Geometry geometry) {
+        Geometry.Poly3 poly3 = geometry.getPoly3();
+        return new RoadMappingPoly3(laneGeometries, geometry.getX(), geometry.getY(),
+                geometry.getHdg(), geometry.getLength(), poly3.getA(), poly3.getB(),
+                poly3.getC(), poly3.getD());
+    }
+
+    /**
+     * Find the parameter u at which the arc length of the polynomial reaches the road length,
+     * by Newton's method
+     *
+     * @param length The length of the road
+     * @return the parameter at the end of the road
+     */
+    private double endParameter(double length) {
+        double u = length / Math.sqrt(1 + b * b);
+        for (int i = 0; i < 20; i++) {
+            double error = arcLength(0, u) - length;
+            u -= error / Math.sqrt(1 + slope(u) * slope(u));
+            if (Math.abs(error) < 1e-9 * Math.max(1, length)) {
+                break;
+            }
+        }
+
+        return u;
+    }
+
+    /**
+     * Get the arc length of the polynomial between two parameters, with Simpson's rule
+     *
+     * @param from The first parameter
+     * @param to   The last parameter
+     * @return the arc length
+     */
+    private double arcLength(double from, double to) {
+        int intervals = Math.max(2, 2 * (int) Math.ceil(Math.abs(to - from) / MAX_SAMPLE_STEP));
+        double h = (to - from) / intervals;
+        double sum = speed(from) + speed(to);
+        for (int i = 1; i < intervals; i++) {
+            sum += (i % 2 == 0 ? 2 : 4) * speed(from + i * h);
+        }
+
+        return sum * h / 3;
+    }
+
+    /**
+     * Get the norm of the derivative of the polynomial curve
+     *
+     * @param u The parameter
+     * @return the arc length per unit of u
+     */
+    private double speed(double u) {
+        double slope = slope(u);
+        return Math.sqrt(1 + slope * slope);
+    }
+
+    /**
+     * Evaluate the polynomial
+     *
+     * @param u The parameter
+     * @return the lateral coordinate v
+     */
+    private double v(double u) {
+        return a + u * (b + u * (c + u * d));
+    }
+
+    /**
+     * Evaluate the derivative of the polynomial
+     *
+     * @param u The parameter
+     * @return dv/du
+     */
+    private double slope(double u) {
+        return b + u * (2 * c + u * 3 * d);
+    }
+
+    @Override
+    public String toString() {
+        return "RoadMappingPoly3 [a=" + a + ", b=" + b + ", c=" + c + ", d=" + d +
+                ", roadLength=" + roadLength + "]";
+    }
+}
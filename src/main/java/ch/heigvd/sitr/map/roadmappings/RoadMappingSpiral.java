@@ -0,0 +1,115 @@
+/*
+ * Filename : RoadMappingSpiral.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.map.roadmappings;
+
+import ch.heigvd.sitr.autogen.opendrive.OpenDRIVE.Road.PlanView.Geometry;
+import lombok.Getter;
+
+/**
+ * This class is used to map a road segment onto a spiral (clothoid), whose curvature changes
+ * linearly along the road
+ * <p>
+ * The position along a clothoid is given by Fresnel integrals, which have no closed form. They
+ * are tabulated once for the whole spiral with Simpson's rule, the heading being exact.
+ */
+public class RoadMappingSpiral extends RoadMappingCurve {
+    // Maximum distance between two samples of the spiral
+    private static final double MAX_SAMPLE_STEP = 1.0;
+
+    // Minimum number of intervals between samples
+    private static final int MIN_INTERVALS = 8;
+
+    @Getter
+    private final double startHeading;
+    @Getter
+    private final double curvStart;
+    @Getter
+    private final double curvEnd;
+
+    /**
+     * Constructor
+     *
+     * @param laneGeometries Lane's geometry in the road mapping
+     * @param x0             The start position of the plan view geometry (x inertial)
+     * @param y0             The start position of the plan view geometry (y inertial)
+     * @param theta          The heading at the start of the spiral
+     * @param length         The length of the spiral
+     * @param curvStart      The curvature at the start of the spiral
+     * @param curvEnd        The curvature at the end of the spiral
+     */
+    public RoadMappingSpiral(LaneGeometries laneGeometries, double x0, double y0, double theta,
+                             double length, double curvStart, double curvEnd) {
+        super(laneGeometries, x0, y0);
+        this.startHeading = theta;
+        this.curvStart = curvStart;
+        this.curvEnd = curvEnd;
+
+        int intervals = Math.max(MIN_INTERVALS, (int) Math.ceil(length / MAX_SAMPLE_STEP));
+        double step = length / intervals;
+        double[] s = new double[intervals + 1];
+        double[] x = new double[intervals + 1];
+        double[] y = new double[intervals + 1];
+        double[] heading = new double[intervals + 1];
+
+        x[0] = x0;
+        y[0] = y0;
+        heading[0] = theta;
+        for (int i = 1; i <= intervals; i++) {
+            s[i] = i * step;
+            heading[i] = headingAt(s[i], length);
+
+            // Simpson's rule over the interval
+            double middle = headingAt(s[i] - step / 2, length);
+            x[i] = x[i - 1] + step / 6 * (Math.cos(heading[i - 1]) + 4 * Math.cos(middle) + Math.cos(heading[i]));
+            y[i] = y[i - 1] + step / 6 * (Math.sin(heading[i - 1]) + 4 * Math.sin(middle) + Math.sin(heading[i]));
+        }
+        // Avoid rounding the end of the road
+        s[intervals] = length;
+
+        setSamples(s, x, y, heading);
+    }
+
+    /**
+     * This method creates the road mapping spiral
+     *
+     * @param roadGeometry The road geometry
+     * @return The created road mapping
+     */
+    public static RoadMappingSpiral create(RoadGeometry roadGeometry) {
+        return create(roadGeometry.getLaneGeometries(), roadGeometry.getGeometry());
+    }
+
+    /**
+     * This private method maps the road segment onto a spiral
+     *
+     * @param laneGeometries The lane geometries of the road
+     * @param geometry       OpenDRIVE plan view geometry
+     * @return The created road mapping
+     */
+    private static RoadMappingSpiral create(LaneGeometries laneGeometries, Geometry geometry) {
+        return new RoadMappingSpiral(laneGeometries, geometry.getX(), geometry.getY(),
+                geometry.getHdg(), geometry.getLength(), geometry.getSpiral().getCurvStart(),
+                geometry.getSpiral().getCurvEnd());
+    }
+
+    /**
+     * Get the exact heading at a position of the spiral
+     *
+     * @param roadPos The position from the start of the spiral
+     * @param length  The length of the spiral
+     * @return the heading
+     */
+    private double headingAt(double roadPos, double length) {
+        double curvatureRate = length > 0 ? (curvEnd - curvStart) / length : 0;
+        return startHeading + curvStart * roadPos + 0.5 * curvatureRate * roadPos * roadPos;
+    }
+
+    @Override
+    public String toString() {
+        return "RoadMappingSpiral [curvStart=" + curvStart + ", curvEnd=" + curvEnd +
+                ", roadLength=" + roadLength + "]";
+    }
+}
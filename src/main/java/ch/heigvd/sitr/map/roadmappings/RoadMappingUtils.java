@@ -28,8 +28,7 @@ public final class RoadMappingUtils {
             return create(Iterables.getOnlyElement(roadGeometries));
         }
 
-        // TODO (tum) complete with RoadMappingPoly
-        return create(Iterables.getOnlyElement(roadGeometries));
+        return RoadMappingPoly.create(roadGeometries);
     }
 
     /**
@@ -38,16 +37,16 @@ public final class RoadMappingUtils {
      * @param roadGeometry The road geometry of the road segment
      * @return The created road mapping
      */
-    private static final RoadMapping create(RoadGeometry roadGeometry) {
+    static RoadMapping create(RoadGeometry roadGeometry) {
         RoadMapping roadMapping;
         if (roadGeometry.getGeometry().isSetLine()) {
             roadMapping = RoadMappingLine.create(roadGeometry);
         } else if (roadGeometry.getGeometry().isSetArc()) {
             roadMapping = RoadMappingArc.create((roadGeometry));
         } else if (roadGeometry.getGeometry().isSetPoly3()) {
-            throw new IllegalArgumentException("POLY3 geometry not yet supported. ");
+            roadMapping = RoadMappingPoly3.create(roadGeometry);
         } else if (roadGeometry.getGeometry().isSetSpiral()) {
-            throw new IllegalArgumentException("SPIRAL geometry not yet supported. ");
+            roadMapping = RoadMappingSpiral.create(roadGeometry);
         } else {
             throw new IllegalArgumentException("Unknown geometry: " + roadGeometry.getGeometry());
         }
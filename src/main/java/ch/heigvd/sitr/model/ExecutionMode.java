@@ -0,0 +1,40 @@
+/*
+ * Filename : ExecutionMode.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.model;
+
+/**
+ * Enum for the execution modes of the simulation engine, provides their names
+ * <p>
+ * It describes how fast the simulated time runs compared to the wall-clock time. The simulated
+ * time between two steps doesn't depend on the mode, so neither do the physics
+ */
+public enum ExecutionMode {
+    REAL_TIME("Temps réel"),
+    TIME_WARP("Temps accéléré"),
+    UNTHROTTLED("Aussi vite que possible");
+
+    // Name of the mode (to display in GUI and such)
+    private final String name;
+
+    /**
+     * Constructor defining name of the mode
+     *
+     * @param name The name of the execution mode
+     */
+    ExecutionMode(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Override to return a more friendly mode name
+     *
+     * @return the String representation of the mode
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
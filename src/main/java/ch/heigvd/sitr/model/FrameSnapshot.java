@@ -0,0 +1,390 @@
+/*
+ * Filename : FrameSnapshot.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.model;
+
+import ch.heigvd.sitr.map.roadmappings.AngleAndPos;
+import ch.heigvd.sitr.utils.Conversions;
+import ch.heigvd.sitr.vehicle.Vehicle;
+import ch.heigvd.sitr.vehicle.VehicleRenderer;
+import ch.heigvd.sitr.vehicle.VehicleStateStore;
+import lombok.Getter;
+
+import java.awt.*;
+import java.awt.geom.Point2D;
+import java.util.Arrays;
+
+/**
+ * Frame snapshot is a copy of everything the GUI shows of the vehicles after a step : their pose
+ * before and after the step in pixels, their colour and the metrics of the car control panel
+ * <p>
+ * Snapshots are captured by the physics thread and handed over to Swing through a triple buffer,
+ * so rendering and hit-testing never read the vehicles while they are being updated. A snapshot
+ * is never modified while the GUI holds it.
+ */
+public class FrameSnapshot {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Number of vehicles in the snapshot
+    private int size;
+
+    // Wall-clock time of the step captured [ns]
+    @Getter
+    private long stepTime;
+
+    // Simulated time of the step captured [s]
+    @Getter
+    private double simulatedTime;
+
+    // Vehicles captured, only used to identify them
+    private Vehicle[] vehicles = new Vehicle[DEFAULT_CAPACITY];
+    // Pose of the vehicles before the step, position [px] and direction
+    private double[] previousX = new double[DEFAULT_CAPACITY];
+    private double[] previousY = new double[DEFAULT_CAPACITY];
+    private double[] previousCos = new double[DEFAULT_CAPACITY];
+    private double[] previousSin = new double[DEFAULT_CAPACITY];
+    // Pose of the vehicles after the step, position [px] and direction
+    private double[] x = new double[DEFAULT_CAPACITY];
+    private double[] y = new double[DEFAULT_CAPACITY];
+    private double[] cos = new double[DEFAULT_CAPACITY];
+    private double[] sin = new double[DEFAULT_CAPACITY];
+    // Size of the vehicles [px]
+    private int[] length = new int[DEFAULT_CAPACITY];
+    private int[] width = new int[DEFAULT_CAPACITY];
+    // Colour of the vehicles, as ARGB
+    private int[] color = new int[DEFAULT_CAPACITY];
+    // Speed of the vehicles [m/s]
+    private double[] speed = new double[DEFAULT_CAPACITY];
+    // Waiting time of the vehicles [s]
+    private double[] waitingTime = new double[DEFAULT_CAPACITY];
+    // Number of accidents of the vehicles
+    private int[] accidents = new int[DEFAULT_CAPACITY];
+
+    // Pose reused for each vehicle captured, only used by the physics thread
+    private final AngleAndPos pose = new AngleAndPos();
+
+    /**
+     * Capture the vehicles of a store which haven't finished their itinerary
+     *
+     * @param store         The store holding the vehicles
+     * @param scale         The ratio px/m
+     * @param stepTime      The wall-clock time of the step [ns]
+     * @param simulatedTime The simulated time of the step [s]
+     */
+    void capture(VehicleStateStore store, double scale, long stepTime, double simulatedTime) {
+        this.stepTime = stepTime;
+        this.simulatedTime = simulatedTime;
+
+        if (vehicles.length < store.getSize()) {
+            grow(store.getSize());
+        }
+
+        size = 0;
+        for (int id = 0; id < store.getSize(); id++) {
+            Vehicle vehicle = store.vehicle(id);
+            if (!vehicle.isFinished()) {
+                capture(vehicle, scale, size++);
+            }
+        }
+    }
+
+    /**
+     * Capture a vehicle
+     *
+     * @param vehicle The vehicle
+     * @param scale   The ratio px/m
+     * @param i       The index of the vehicle in the snapshot
+     */
+    private void capture(Vehicle vehicle, double scale, int i) {
+        VehicleRenderer renderer = VehicleRenderer.getInstance();
+
+        renderer.pose(vehicle.currentPath(), vehicle.getPosition(), scale, pose);
+        x[i] = pose.getX();
+        y[i] = pose.getY();
+        cos[i] = pose.getCosTheta();
+        sin[i] = pose.getSinTheta();
+
+        int previousPathStep = vehicle.getPreviousPathStep();
+        if (previousPathStep == vehicle.getPathStep() || previousPathStep == vehicle.getPathStep() - 1) {
+            renderer.pose(vehicle.pathAt(previousPathStep), vehicle.getPreviousPosition(), scale, pose);
+            previousX[i] = pose.getX();
+            previousY[i] = pose.getY();
+            previousCos[i] = pose.getCosTheta();
+            previousSin[i] = pose.getSinTheta();
+        } else {
+            // The vehicle jumped back to the start of its itinerary, don't interpolate
+            previousX[i] = x[i];
+            previousY[i] = y[i];
+            previousCos[i] = cos[i];
+            previousSin[i] = sin[i];
+        }
+
+        vehicles[i] = vehicle;
+        length[i] = Conversions.metersToPixels(scale, vehicle.getLength());
+        width[i] = Conversions.metersToPixels(scale, vehicle.getWidth());
+        color[i] = vehicle.getColor().getRGB();
+        speed[i] = vehicle.getSpeed();
+        waitingTime[i] = vehicle.getWaitingTime();
+        accidents[i] = vehicle.getNbOfAccidents();
+    }
+
+    /**
+     * Get the number of vehicles in the snapshot
+     *
+     * @return the number of vehicles
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get a vehicle of the snapshot
+     *
+     * @param i The index of the vehicle in the snapshot
+     * @return the vehicle, whose live state must not be read from the GUI
+     */
+    public Vehicle vehicle(int i) {
+        return vehicles[i];
+    }
+
+    /**
+     * Find the index of a vehicle in the snapshot
+     *
+     * @param vehicle The vehicle
+     * @return its index, or -1 if it isn't part of the snapshot
+     */
+    public int indexOf(Vehicle vehicle) {
+        for (int i = 0; i < size; i++) {
+            if (vehicles[i] == vehicle) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Get the x coordinate of the top left corner of a vehicle, before its rotation
+     *
+     * @param i             The index of the vehicle in the snapshot
+     * @param interpolation The interpolation factor, between 0 (before the step) and 1 (after it)
+     * @return the coordinate [px]
+     */
+    public double x(int i, double interpolation) {
+        return previousX[i] + interpolation * (x[i] - previousX[i]);
+    }
+
+    /**
+     * Get the y coordinate of the top left corner of a vehicle, before its rotation
+     *
+     * @param i             The index of the vehicle in the snapshot
+     * @param interpolation The interpolation factor, between 0 (before the step) and 1 (after it)
+     * @return the coordinate [px]
+     */
+    public double y(int i, double interpolation) {
+        return previousY[i] + interpolation * (y[i] - previousY[i]);
+    }
+
+    /**
+     * Get the cosine of the heading of a vehicle, turning the shortest way between its two poses
+     * <p>
+     * Note: the directions are interpolated and normalised, without any trigonometric function
+     *
+     * @param i             The index of the vehicle in the snapshot
+     * @param interpolation The interpolation factor, between 0 (before the step) and 1 (after it)
+     * @return the cosine of the heading
+     */
+    public double cos(int i, double interpolation) {
+        double c = previousCos[i] + interpolation * (cos[i] - previousCos[i]);
+        double s = previousSin[i] + interpolation * (sin[i] - previousSin[i]);
+        double norm = Math.sqrt(c * c + s * s);
+
+        // Opposite directions have no shortest way, keep the last one
+        return norm > 1e-9 ? c / norm : cos[i];
+    }
+
+    /**
+     * Get the sine of the heading of a vehicle, turning the shortest way between its two poses
+     *
+     * @param i             The index of the vehicle in the snapshot
+     * @param interpolation The interpolation factor, between 0 (before the step) and 1 (after it)
+     * @return the sine of the heading
+     */
+    public double sin(int i, double interpolation) {
+        double c = previousCos[i] + interpolation * (cos[i] - previousCos[i]);
+        double s = previousSin[i] + interpolation * (sin[i] - previousSin[i]);
+        double norm = Math.sqrt(c * c + s * s);
+
+        return norm > 1e-9 ? s / norm : sin[i];
+    }
+
+    /**
+     * Get the heading of a vehicle, turning the shortest way between its two poses
+     * <p>
+     * Note: prefer the cosine and sine where possible, this computes an arc tangent
+     *
+     * @param i             The index of the vehicle in the snapshot
+     * @param interpolation The interpolation factor, between 0 (before the step) and 1 (after it)
+     * @return the angle [rad]
+     */
+    public double angle(int i, double interpolation) {
+        return Math.atan2(sin(i, interpolation), cos(i, interpolation));
+    }
+
+    /**
+     * Get the centre of a vehicle on the map
+     *
+     * @param i             The index of the vehicle in the snapshot
+     * @param interpolation The interpolation factor, between 0 (before the step) and 1 (after it)
+     * @return the centre [px]
+     */
+    public Point2D.Double center(int i, double interpolation) {
+        return new Point2D.Double((int) x(i, interpolation) + length[i] / 2,
+                (int) y(i, interpolation) + width[i] / 2);
+    }
+
+    /**
+     * Get the bounds of a vehicle on the map once rotated, including the antialiased edges and
+     * the rounding of its heading when drawn from a sprite
+     *
+     * @param i             The index of the vehicle in the snapshot
+     * @param interpolation The interpolation factor, between 0 (before the step) and 1 (after it)
+     * @param bounds        The rectangle in which to write the bounds [px]
+     * @return the bounds
+     */
+    public Rectangle bounds(int i, double interpolation, Rectangle bounds) {
+        int left = (int) x(i, interpolation);
+        int top = (int) y(i, interpolation);
+        double centerX = left + length[i] / 2;
+        double centerY = top + width[i] / 2;
+
+        double cos = Math.abs(cos(i, interpolation));
+        double sin = Math.abs(sin(i, interpolation));
+        double halfWidth = (length[i] * cos + width[i] * sin) / 2;
+        double halfHeight = (length[i] * sin + width[i] * cos) / 2;
+
+        int minX = (int) Math.floor(centerX - halfWidth) - 2;
+        int minY = (int) Math.floor(centerY - halfHeight) - 2;
+        int maxX = (int) Math.ceil(centerX + halfWidth) + 2;
+        int maxY = (int) Math.ceil(centerY + halfHeight) + 2;
+        bounds.setBounds(minX, minY, maxX - minX, maxY - minY);
+
+        return bounds;
+    }
+
+    /**
+     * Find the vehicle drawn at a point of the map
+     *
+     * @param px            The x coordinate of the point [px]
+     * @param py            The y coordinate of the point [px]
+     * @param interpolation The interpolation factor the vehicles are drawn with
+     * @return the index of the last vehicle drawn at this point, or -1 if there is none
+     */
+    public int hit(double px, double py, double interpolation) {
+        for (int i = size - 1; i >= 0; i--) {
+            int left = (int) x(i, interpolation);
+            int top = (int) y(i, interpolation);
+            double centerX = left + length[i] / 2;
+            double centerY = top + width[i] / 2;
+
+            // Bring the point back into the frame of the vehicle before its rotation
+            double cos = cos(i, interpolation);
+            double sin = sin(i, interpolation);
+            double dx = px - centerX;
+            double dy = py - centerY;
+            double localX = centerX + dx * cos + dy * sin;
+            double localY = centerY - dx * sin + dy * cos;
+
+            if (localX >= left && localX < left + length[i] && localY >= top && localY < top + width[i]) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Get the length of a vehicle
+     *
+     * @param i The index of the vehicle in the snapshot
+     * @return the length [px]
+     */
+    public int length(int i) {
+        return length[i];
+    }
+
+    /**
+     * Get the width of a vehicle
+     *
+     * @param i The index of the vehicle in the snapshot
+     * @return the width [px]
+     */
+    public int width(int i) {
+        return width[i];
+    }
+
+    /**
+     * Get the colour of a vehicle
+     *
+     * @param i The index of the vehicle in the snapshot
+     * @return the colour, as ARGB
+     */
+    public int color(int i) {
+        return color[i];
+    }
+
+    /**
+     * Get the speed of a vehicle
+     *
+     * @param i The index of the vehicle in the snapshot
+     * @return the speed [m/s]
+     */
+    public double speed(int i) {
+        return speed[i];
+    }
+
+    /**
+     * Get the waiting time of a vehicle
+     *
+     * @param i The index of the vehicle in the snapshot
+     * @return the waiting time [s]
+     */
+    public double waitingTime(int i) {
+        return waitingTime[i];
+    }
+
+    /**
+     * Get the number of accidents of a vehicle
+     *
+     * @param i The index of the vehicle in the snapshot
+     * @return the number of accidents
+     */
+    public int accidents(int i) {
+        return accidents[i];
+    }
+
+    /**
+     * Grow the arrays of the snapshot
+     *
+     * @param capacity The new capacity
+     */
+    private void grow(int capacity) {
+        vehicles = Arrays.copyOf(vehicles, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        previousCos = Arrays.copyOf(previousCos, capacity);
+        previousSin = Arrays.copyOf(previousSin, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        cos = Arrays.copyOf(cos, capacity);
+        sin = Arrays.copyOf(sin, capacity);
+        length = Arrays.copyOf(length, capacity);
+        width = Arrays.copyOf(width, capacity);
+        color = Arrays.copyOf(color, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        waitingTime = Arrays.copyOf(waitingTime, capacity);
+        accidents = Arrays.copyOf(accidents, capacity);
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Filename : SimClock.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.model;
+
+import lombok.Getter;
+
+/**
+ * Simulation clock giving the simulated time, advanced by the engine at each step
+ * <p>
+ * Every time-based metric (waiting time, statistics) is measured with this clock instead of the
+ * wall clock, so that they don't depend on how fast the simulation runs
+ */
+public class SimClock {
+    // Simulated time elapsed since the clock's creation [s]
+    @Getter
+    private volatile double time;
+
+    /**
+     * Advance the clock by a step
+     *
+     * @param deltaT The simulated duration of the step [s]
+     */
+    public void advance(double deltaT) {
+        time += deltaT;
+    }
+}
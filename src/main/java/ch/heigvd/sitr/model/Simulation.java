@@ -7,16 +7,21 @@ package ch.heigvd.sitr.model;
 
 import ch.heigvd.sitr.gui.simulation.Displayer;
 import ch.heigvd.sitr.gui.simulation.SimulationWindow;
+import ch.heigvd.sitr.map.RoadGraph;
 import ch.heigvd.sitr.map.RoadNetwork;
 import ch.heigvd.sitr.map.RoadSegment;
+import ch.heigvd.sitr.map.RoutingService;
 import ch.heigvd.sitr.map.input.OpenDriveHandler;
 import ch.heigvd.sitr.statistics.Statistics;
+import ch.heigvd.sitr.vehicle.CompiledItinerary;
 import ch.heigvd.sitr.vehicle.ItineraryPath;
 import ch.heigvd.sitr.vehicle.Vehicle;
 import ch.heigvd.sitr.vehicle.VehicleController;
+import ch.heigvd.sitr.vehicle.VehicleKernel;
+import ch.heigvd.sitr.vehicle.VehicleStateStore;
 import lombok.Getter;
-import lombok.Setter;
 
+import javax.swing.Timer;
 import javax.xml.transform.stream.StreamSource;
 import java.io.BufferedReader;
 import java.io.InputStream;
@@ -50,7 +55,13 @@ public class Simulation {
     // List of vehicles generated by traffic generator
     @Getter
     private ArrayList<Vehicle> vehicles;
+    // Seed of the random streams of the simulation, a run can be replayed from it
+    @Getter
+    private final long seed;
+    // Store holding the vehicles' state
+    private final VehicleStateStore store;
     // Road network
+    @Getter
     private final RoadNetwork roadNetwork;
 
     // The timer for the main loop
@@ -59,10 +70,10 @@ public class Simulation {
     // Default rate of calculation for the simulation
     @Getter
     private final double defaultDeltaT = 0.12;
-    // Effective rate of calculation for the simulation
+
+    // Engine computing the vehicles' steps
     @Getter
-    @Setter
-    private double deltaT = defaultDeltaT;
+    private final SimulationEngine engine;
 
     // Object for making statistics
     @Getter
@@ -77,11 +88,29 @@ public class Simulation {
      */
     public Simulation(Scenario scenario, VehicleBehaviour behaviour,
                       HashMap<VehicleControllerType, Integer> controllers) {
+        this(scenario, behaviour, controllers, new Random().nextLong());
+    }
+
+    /**
+     * Simulation constructor
+     *
+     * @param scenario    The scenario the simulation must create
+     * @param behaviour   The behaviour the vehicles must adopt when arriving at their destination
+     * @param controllers The number of vehicles for each controller type
+     * @param seed        The seed of the random streams, the same seed giving the same run
+     */
+    public Simulation(Scenario scenario, VehicleBehaviour behaviour,
+                      HashMap<VehicleControllerType, Integer> controllers, long seed) {
         this.scenario = scenario;
         this.behaviour = behaviour;
+        this.seed = seed;
+        LOG.log(Level.INFO, "simulation seed is {0}", Long.toString(seed));
+
+        // Create the store, each vehicle's random stream is split from the seed
+        store = new VehicleStateStore(controllers.values().stream().mapToInt(Integer::intValue).sum(), seed);
 
         // Create a roadNetwork instance and then parse the OpenDRIVE XML file
-        roadNetwork = new RoadNetwork();
+        roadNetwork = new RoadNetwork(scenario.getScale());
 
         // Load road network
         parseOpenDriveXml(roadNetwork, scenario.getConfigPath());
@@ -89,8 +118,14 @@ public class Simulation {
         // Generate vehicles from user parameters
         vehicles = generateTraffic(controllers);
 
+        // Notify the vehicles' listeners once per rendered frame rather than once per step
+        store.getEventBus().setCoalescing(true);
+
+        // Create the engine stepping these vehicles
+        engine = new SimulationEngine(store, vehicles, behaviour, defaultDeltaT);
+
         // Create the statistic for this simulation
-        stats = new Statistics(vehicles, roadNetwork, 1);
+        stats = new Statistics(vehicles, roadNetwork, engine.getClock(), 1);
     }
 
     /**
@@ -103,6 +138,9 @@ public class Simulation {
         // Print the road network
         roadNetwork.draw(scenario.getScale());
 
+        // Let the engine hand the vehicles over to the GUI
+        engine.enableSnapshots(scenario.getScale());
+
         // Start the statistics
         stats.start();
 
@@ -111,47 +149,53 @@ public class Simulation {
     }
 
     /**
-     * Main simulation loop, runs in a fixed rate timer loop
+     * Main simulation loop, the physics run on the engine's own thread and the rendering
+     * runs on the Swing event dispatch thread, showing the latest snapshot handed over by the
+     * engine. The rendering never takes the engine's lock, so a slow repaint can't delay a step
      */
     public void startLoop() {
-        // Create a timer to run the main loop
-        timer = new Timer();
         stats.restart();
 
-        // Schedule a task to run immediately, and then
-        // every UPDATE_RATE per second
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                for (Vehicle vehicle : vehicles) {
-                    // If the vehicle hasn't finished its itinerary
-                    if (!vehicle.isFinished()) {
-                        // Update vehicle's speed and position
-                        vehicle.update(deltaT);
-
-                        if (!vehicle.isFinished()) {
-                            // And draw vehicle on screen
-                            vehicle.draw(scenario.getScale());
-
-                            // Notify observers that the vehicle's parameters have changed
-                            vehicle.notifyObservers();
-                        } else {
-                            vehicle.reset(behaviour);
-                        }
-                    }
-                }
+        // Start the physics thread
+        engine.start();
 
-                // Callback to paintComponent()
-                window.repaint();
-            }
-        }, 0, UPDATE_RATE);
+        // Render the latest snapshot every UPDATE_RATE milliseconds
+        timer = new Timer(UPDATE_RATE, e -> {
+            FrameSnapshot snapshot = engine.latestSnapshot();
+
+            // Where we are between the state before and after the step captured
+            window.display(snapshot, engine.interpolation(snapshot));
+
+            // Notify the listeners of the vehicles changed since the last frame
+            store.getEventBus().flush();
+        });
+        timer.start();
+    }
+
+    /**
+     * Get the effective rate of calculation for the simulation
+     *
+     * @return the simulated time between two steps [s]
+     */
+    public double getDeltaT() {
+        return engine.getDeltaT();
+    }
+
+    /**
+     * Set the effective rate of calculation for the simulation
+     *
+     * @param deltaT the simulated time between two steps [s]
+     */
+    public void setDeltaT(double deltaT) {
+        engine.setDeltaT(deltaT);
     }
 
     /**
      * Method used to stop the timer. it is used when we close the current simulation
      */
     public void stopLoop() {
-        timer.cancel();
+        engine.stop();
+        timer.stop();
         stats.pause();
     }
 
@@ -164,50 +208,113 @@ public class Simulation {
     private ArrayList<Vehicle> generateTraffic(HashMap<VehicleControllerType, Integer> controllers) {
         ArrayList<Vehicle> vehicles = new ArrayList<>();
 
-        // Create itineraries
-        LinkedList<ItineraryPath> defaultItinerary = new LinkedList<>();
-
-        for (RoadSegment roadSegment : roadNetwork) {
-            defaultItinerary.add(new ItineraryPath(roadSegment, scenario.getScale()));
+        // Vehicles drive from an entry to an exit of the road network, chosen reproducibly
+        RoadGraph graph = roadNetwork.getGraph();
+        List<Integer> entries = new ArrayList<>();
+        List<Integer> exits = new ArrayList<>();
+        for (int i = 0; i < graph.segmentCount(); i++) {
+            if (graph.predecessorCount(i) == 0) {
+                entries.add(i);
+            }
+            if (graph.successorCount(i) == 0) {
+                exits.add(i);
+            }
         }
-        // TODO: create several itineraries and randomize
+        RoutingService routing = entries.isEmpty() || exits.isEmpty() ? null : new RoutingService(roadNetwork);
+        Random routeRandom = new Random(seed);
+
+        // Compile each itinerary once, so that vehicles following the same route share it
+        HashMap<List<Integer>, CompiledItinerary> itineraries = new HashMap<>();
+
+        // Iterate through the controller types in a fixed order, so the vehicles get the same
+        // random streams for a given seed
+        for (VehicleControllerType type : VehicleControllerType.values()) {
+            int count = controllers.getOrDefault(type, 0);
+            if (count <= 0) {
+                continue;
+            }
 
-        // Iterate through the hash map
-        controllers.forEach((key, value) -> {
             // One controller for all vehicles of a given type
-            VehicleController controller = new VehicleController(key);
+            VehicleController controller = new VehicleController(type);
 
             // Generate as many vehicles as asked
-            for (int i = 0; i < value; i++) {
-                Vehicle v = new Vehicle("regular.xml", controller, defaultItinerary);
+            for (int i = 0; i < count; i++) {
+                CompiledItinerary itinerary = chooseItinerary(routing, entries, exits, routeRandom, itineraries);
+                Vehicle v = new Vehicle("regular.xml", controller, itinerary, store);
                 vehicles.add(v);
             }
-        });
+        }
 
-        // Randomize vehicles order
-        Collections.shuffle(vehicles);
+        // Randomize vehicles order, reproducibly
+        Collections.shuffle(vehicles, new Random(seed));
 
-        // Set vehicles positions and front vehicles
-        int c = 0;
-        Vehicle previousVehicle = null;
+        // Place vehicles at a good distance from the ones starting on the same road segment
+        HashMap<Integer, Integer> counts = new HashMap<>();
         for (Vehicle vehicle : vehicles) {
-            // Place vehicles at a good distance from each other
-            vehicle.setPosition(vehicle.getPosition() + (vehicle.getLength() * 3 * c++));
+            int c = counts.merge(vehicle.getItinerary().segment(0), 1, Integer::sum) - 1;
+            vehicle.setPosition(vehicle.getPosition() + (vehicle.getLength() * 3 * c));
+        }
 
-            // Set front vehicle (if there is one)
-            if (previousVehicle != null) {
-                previousVehicle.setFrontVehicle(vehicle);
+        // Front vehicles are searched among all vehicles, whatever their route
+        store.enableLeaderSearch();
+        VehicleKernel.assignLeaders(store);
+
+        return vehicles;
+    }
+
+    /**
+     * Choose the itinerary of a vehicle : the route given by the routing service between an entry
+     * and an exit of the road network drawn at random, or every road segment in file order if the
+     * network has no entry or exit, or no route joins them
+     *
+     * @param routing     The routing service, null if the network has no entry or exit
+     * @param entries     The segments without predecessor
+     * @param exits       The segments without successor
+     * @param random      The random generator drawing the entries and exits
+     * @param itineraries The itineraries already compiled, by route
+     * @return the compiled itinerary, shared with the vehicles following the same route
+     */
+    private CompiledItinerary chooseItinerary(RoutingService routing, List<Integer> entries,
+                                              List<Integer> exits, Random random,
+                                              HashMap<List<Integer>, CompiledItinerary> itineraries) {
+        List<Integer> route = new ArrayList<>();
+        if (routing != null) {
+            // Only draw when there is a choice, so single-route networks keep the same run
+            int entry = entries.get(entries.size() > 1 ? random.nextInt(entries.size()) : 0);
+            int exit = exits.get(exits.size() > 1 ? random.nextInt(exits.size()) : 0);
+
+            int[] segments = routing.route(entry, exit);
+            if (segments != null) {
+                for (int segment : segments) {
+                    route.add(segment);
+                }
             }
+        }
 
-            previousVehicle = vehicle;
+        if (route.isEmpty()) {
+            for (RoadSegment roadSegment : roadNetwork) {
+                route.add(roadSegment.getIndex());
+            }
         }
 
-        // Set last vehicle's front vehicle
-        if (previousVehicle != null) {
-            previousVehicle.setFrontVehicle(vehicles.get(0));
+        return itineraries.computeIfAbsent(route, this::compileItinerary);
+    }
+
+    /**
+     * Compile the itinerary following a route, closed if its last road segment leads back to its
+     * first one
+     *
+     * @param route The indices of the road segments of the route, in order
+     * @return the compiled itinerary
+     */
+    private CompiledItinerary compileItinerary(List<Integer> route) {
+        LinkedList<ItineraryPath> paths = new LinkedList<>();
+        for (int segment : route) {
+            paths.add(new ItineraryPath(roadNetwork.get(segment)));
         }
 
-        return vehicles;
+        boolean closed = roadNetwork.getGraph().hasEdge(route.get(route.size() - 1), route.get(0));
+        return new CompiledItinerary(paths, closed);
     }
 
     /**
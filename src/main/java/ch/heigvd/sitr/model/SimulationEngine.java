@@ -0,0 +1,396 @@
+/*
+ * Filename : SimulationEngine.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.model;
+
+import ch.heigvd.sitr.utils.TripleBuffer;
+import ch.heigvd.sitr.vehicle.Vehicle;
+import ch.heigvd.sitr.vehicle.VehicleKernel;
+import ch.heigvd.sitr.vehicle.VehicleStateStore;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Simulation engine steps the vehicles of a simulation without any rendering
+ * <p>
+ * It does not depend on Swing, so it can be driven by the GUI loop as well as run headless
+ * as fast as the CPU allows. When started, it steps on its own physics thread, independently of
+ * the rendering, paced by its execution mode : in real time, N times faster than real time or as
+ * fast as possible. The simulated time between two steps stays the same in every mode
+ * <p>
+ * The phases of a step can be split across several cores by setting the parallelism of the
+ * engine, without changing the computed trajectories
+ * <p>
+ * Once snapshots are enabled, the engine captures what the GUI shows of the vehicles after
+ * every step, and hands it over through a lock-free triple buffer, so the GUI always renders
+ * the latest step
+ */
+public class SimulationEngine {
+    // Default time warp factor, stepping 0.12s of simulated time every 30ms
+    public static final double DEFAULT_TIME_WARP = 4;
+
+    // Wall-clock time during which the achieved real-time factor is measured [ns]
+    private static final long MEASURE_PERIOD = 500_000_000L;
+
+    // Wall-clock time spent stepping before checking the execution mode again when unthrottled [ns]
+    private static final long UNTHROTTLED_BURST = 10_000_000L;
+
+    // Store holding the state of the vehicles stepped by the engine
+    @Getter
+    private final VehicleStateStore store;
+
+    // Vehicles stepped by the engine
+    @Getter
+    private final List<Vehicle> vehicles;
+
+    // The behaviour the vehicles should have when arriving at their destination
+    @Getter
+    private final VehicleBehaviour behaviour;
+
+    // Simulated time between two steps [s]
+    @Getter
+    @Setter
+    private double deltaT;
+
+    // Number of steps computed since the engine's creation
+    @Getter
+    private long stepCount;
+
+    // Clock giving the simulated time, shared with the vehicles
+    @Getter
+    private final SimClock clock;
+
+    // How the physics thread paces the steps
+    @Getter
+    private volatile ExecutionMode executionMode = ExecutionMode.TIME_WARP;
+
+    // Simulated seconds per wall-clock second in time warp mode
+    @Getter
+    private volatile double timeWarp = DEFAULT_TIME_WARP;
+
+    // Simulated seconds per wall-clock second measured on the physics thread
+    @Getter
+    private volatile double realTimeFactor;
+
+    // Number of threads computing a step, 1 to compute it on the calling thread
+    @Getter
+    private int parallelism = 1;
+
+    // Pool running the phases of a step when the parallelism is greater than 1
+    private ForkJoinPool pool;
+
+    // The thread running the physics steps
+    private Thread physicsThread;
+
+    // Wall-clock time of the last physics step [ns]
+    private volatile long lastStepTime = System.nanoTime();
+
+    // Snapshots handed over to the GUI, null until enabled
+    private volatile TripleBuffer<FrameSnapshot> snapshots;
+
+    // Ratio px/m of the snapshots
+    private double snapshotScale;
+
+    /**
+     * Constructor
+     *
+     * @param store     The store holding the state of the vehicles
+     * @param vehicles  The vehicles to step, all viewing a slot of the store
+     * @param behaviour The behaviour the vehicles must adopt when arriving at their destination
+     * @param deltaT    The simulated time between two steps [s]
+     */
+    public SimulationEngine(VehicleStateStore store, List<Vehicle> vehicles, VehicleBehaviour behaviour,
+                            double deltaT) {
+        this.store = store;
+        this.clock = store.getClock();
+        this.vehicles = vehicles;
+        this.behaviour = behaviour;
+        this.deltaT = deltaT;
+    }
+
+    /**
+     * Compute one step of the simulation, updating every vehicle's speed and position
+     */
+    public synchronized void step() {
+        // The state computed by this step is the one at the end of it
+        clock.advance(deltaT);
+
+        // Update speed and position of the vehicles which haven't finished their itinerary
+        VehicleKernel.update(store, deltaT, pool);
+
+        for (Vehicle vehicle : vehicles) {
+            if (vehicle.isFinished()) {
+                vehicle.reset(behaviour);
+            }
+        }
+
+        stepCount++;
+        lastStepTime = System.nanoTime();
+
+        // Publish every step, the GUI picks up the latest one whenever it renders
+        TripleBuffer<FrameSnapshot> buffer = snapshots;
+        if (buffer != null) {
+            publishSnapshot(buffer);
+        }
+    }
+
+    /**
+     * Start capturing frame snapshots for the GUI
+     * <p>
+     * Note: must be called before the physics thread is started
+     *
+     * @param scale The ratio px/m of the snapshots
+     */
+    public synchronized void enableSnapshots(double scale) {
+        if (snapshots != null) {
+            return;
+        }
+
+        snapshotScale = scale;
+        TripleBuffer<FrameSnapshot> buffer = new TripleBuffer<>(FrameSnapshot::new);
+        publishSnapshot(buffer);
+        snapshots = buffer;
+    }
+
+    /**
+     * Get the latest snapshot captured, which isn't modified until the next call
+     * <p>
+     * Note: must always be called from the same thread, typically the Swing event dispatch thread
+     *
+     * @return the latest snapshot, or null if snapshots aren't enabled
+     */
+    public FrameSnapshot latestSnapshot() {
+        TripleBuffer<FrameSnapshot> buffer = snapshots;
+        return buffer == null ? null : buffer.acquire();
+    }
+
+    /**
+     * Capture the current state into the back buffer and publish it
+     *
+     * @param buffer The triple buffer of the snapshots
+     */
+    private void publishSnapshot(TripleBuffer<FrameSnapshot> buffer) {
+        buffer.back().capture(store, snapshotScale, lastStepTime, clock.getTime());
+        buffer.publish();
+    }
+
+    /**
+     * Get the simulated time elapsed since the engine's creation
+     *
+     * @return the simulated time [s]
+     */
+    public double getSimulatedTime() {
+        return clock.getTime();
+    }
+
+    /**
+     * Compute several steps of the simulation
+     *
+     * @param n The number of steps to compute
+     */
+    public void step(int n) {
+        for (int i = 0; i < n; i++) {
+            step();
+        }
+    }
+
+    /**
+     * Compute as many steps as needed to simulate the given duration
+     *
+     * @param simSeconds The simulated duration [s]
+     * @return the number of steps computed
+     */
+    public int runFor(double simSeconds) {
+        int steps = (int) Math.ceil(simSeconds / deltaT);
+        step(steps);
+
+        return steps;
+    }
+
+    /**
+     * Start stepping the simulation on its own physics thread
+     */
+    public synchronized void start() {
+        if (physicsThread != null) {
+            return;
+        }
+
+        physicsThread = new Thread(this::runPhysics, "physics");
+        physicsThread.setDaemon(true);
+        physicsThread.start();
+    }
+
+    /**
+     * Stop the physics thread, waiting for it to finish its current step
+     */
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            thread = physicsThread;
+            physicsThread = null;
+        }
+
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Is the physics thread running
+     *
+     * @return true if the engine steps on its own thread
+     */
+    public synchronized boolean isRunning() {
+        return physicsThread != null;
+    }
+
+    /**
+     * Set how the physics thread paces the steps
+     *
+     * @param executionMode The new execution mode
+     */
+    public void setExecutionMode(ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+    }
+
+    /**
+     * Set the number of simulated seconds per wall-clock second in time warp mode
+     *
+     * @param timeWarp The time warp factor
+     */
+    public void setTimeWarp(double timeWarp) {
+        if (timeWarp <= 0) {
+            throw new IllegalArgumentException("Time warp must be positive");
+        }
+
+        this.timeWarp = timeWarp;
+    }
+
+    /**
+     * Get the number of simulated seconds per wall-clock second aimed at by the execution mode
+     *
+     * @return the target factor, infinity if unthrottled
+     */
+    public double targetFactor() {
+        switch (executionMode) {
+            case REAL_TIME:
+                return 1;
+            case TIME_WARP:
+                return timeWarp;
+            default:
+                return Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Physics loop, stepping whenever the wall-clock time accumulated times the target factor
+     * covers a whole step
+     */
+    private void runPhysics() {
+        long measureStart = System.nanoTime();
+        double measureStartTime = clock.getTime();
+        StepPacer pacer = new StepPacer(measureStart);
+
+        while (!Thread.currentThread().isInterrupted()) {
+            long now = System.nanoTime();
+            double factor = targetFactor();
+
+            if (Double.isInfinite(factor)) {
+                // Step for a while, then check the execution mode again
+                while (System.nanoTime() - now < UNTHROTTLED_BURST) {
+                    step();
+                }
+                pacer.reset(now);
+            } else {
+                step(pacer.stepsDue(now, factor, deltaT));
+            }
+
+            // Measure the achieved factor
+            if (now - measureStart >= MEASURE_PERIOD) {
+                realTimeFactor = (clock.getTime() - measureStartTime) / ((now - measureStart) / 1e9);
+                measureStart = now;
+                measureStartTime = clock.getTime();
+            }
+
+            // Nothing waits for the physics thread when unthrottled, keep stepping until interrupted
+            if (Double.isInfinite(factor)) {
+                continue;
+            }
+
+            try {
+                // Sleep until the next step is due
+                Thread.sleep(pacer.sleepMillis(factor, deltaT));
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+
+        realTimeFactor = 0;
+    }
+
+    /**
+     * Set the number of threads computing a step, replacing the current pool
+     *
+     * @param parallelism The number of threads, 1 to compute the steps on the calling thread
+     */
+    public synchronized void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+
+        if (pool != null) {
+            pool.shutdown();
+        }
+
+        this.parallelism = parallelism;
+        pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    /**
+     * Get the fraction of the wall-clock time between two steps elapsed since the last step
+     * <p>
+     * Note: used by the rendering to interpolate between the last two physics states
+     *
+     * @return the interpolation factor, between 0 (just stepped) and 1 (a whole step elapsed)
+     */
+    public double interpolation() {
+        return interpolation(lastStepTime);
+    }
+
+    /**
+     * Get the fraction of the wall-clock time between two steps elapsed since the step captured
+     * by a snapshot
+     *
+     * @param snapshot The snapshot
+     * @return the interpolation factor, between 0 (just stepped) and 1 (a whole step elapsed)
+     */
+    public double interpolation(FrameSnapshot snapshot) {
+        return interpolation(snapshot.getStepTime());
+    }
+
+    /**
+     * Get the fraction of the wall-clock time between two steps elapsed since a step
+     *
+     * @param stepTime The wall-clock time of the step [ns]
+     * @return the interpolation factor, between 0 (just stepped) and 1 (a whole step elapsed)
+     */
+    private double interpolation(long stepTime) {
+        double factor = targetFactor();
+        if (Double.isInfinite(factor)) {
+            return 1;
+        }
+
+        double elapsed = (System.nanoTime() - stepTime) / 1e9 * factor / deltaT;
+        return Math.max(0, Math.min(1, elapsed));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Filename : StepPacer.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.model;
+
+/**
+ * Step pacer decides how many steps the physics thread owes to the wall-clock time elapsed,
+ * for a target number of simulated seconds per wall-clock second
+ * <p>
+ * The wall-clock time is given by the caller, so the pacing doesn't depend on the actual clock
+ */
+class StepPacer {
+    // Maximum number of steps computed at once to catch up with the wall-clock time
+    static final int MAX_CATCH_UP_STEPS = 100;
+
+    // Maximum wall-clock time between two checks of the execution mode [ms]
+    static final long MAX_SLEEP = 100;
+
+    // Simulated time owed to the wall-clock time [s]
+    private double accumulator;
+
+    // Wall-clock time of the last call [ns]
+    private long lastTime;
+
+    /**
+     * Constructor
+     *
+     * @param now The current wall-clock time [ns]
+     */
+    StepPacer(long now) {
+        reset(now);
+    }
+
+    /**
+     * Forget the simulated time owed, starting to count from now
+     *
+     * @param now The current wall-clock time [ns]
+     */
+    void reset(long now) {
+        accumulator = 0;
+        lastTime = now;
+    }
+
+    /**
+     * Account for the wall-clock time elapsed since the last call and take the steps it covers
+     * <p>
+     * Note: if more than MAX_CATCH_UP_STEPS steps are owed, the remaining time is forgotten
+     *
+     * @param now    The current wall-clock time [ns]
+     * @param factor The number of simulated seconds per wall-clock second
+     * @param deltaT The simulated time between two steps [s]
+     * @return the number of steps to compute
+     */
+    int stepsDue(long now, double factor, double deltaT) {
+        accumulator += (now - lastTime) / 1e9 * factor;
+        lastTime = now;
+
+        int steps = 0;
+        while (accumulator >= deltaT && steps < MAX_CATCH_UP_STEPS) {
+            accumulator -= deltaT;
+            steps++;
+        }
+
+        // Too late to catch up, forget about the remaining time
+        if (steps == MAX_CATCH_UP_STEPS) {
+            accumulator = 0;
+        }
+
+        return steps;
+    }
+
+    /**
+     * Get the wall-clock time until the next step is due
+     *
+     * @param factor The number of simulated seconds per wall-clock second
+     * @param deltaT The simulated time between two steps [s]
+     * @return the time to sleep, between 1 and MAX_SLEEP [ms]
+     */
+    long sleepMillis(double factor, double deltaT) {
+        long sleep = (long) ((deltaT - accumulator) / factor * 1000);
+        return Math.max(1, Math.min(sleep, MAX_SLEEP));
+    }
+}
@@ -7,9 +7,8 @@ package ch.heigvd.sitr.statistics;
 
 import ch.heigvd.sitr.gui.simulation.SimulationWindow;
 import ch.heigvd.sitr.map.RoadNetwork;
-import ch.heigvd.sitr.map.RoadSegment;
 import ch.heigvd.sitr.model.Scenario;
-import ch.heigvd.sitr.utils.Conversions;
+import ch.heigvd.sitr.model.SimClock;
 import ch.heigvd.sitr.vehicle.Vehicle;
 import lombok.Getter;
 
@@ -45,45 +44,45 @@ public class Statistics extends Thread {
     // Thread is in progress
     private boolean running;
 
-    // Time in ms
-    private long simulationStartTime;
+    // Clock giving the simulated time
+    private final SimClock clock;
+
+    // Simulated time at the creation of the statistics [s]
+    private final double simulationStartTime;
 
     // Lets you know if the statistics are paused
     private boolean pause;
 
-    //time when the statistics was paused
-    private long beginSimulationTimePause;
-
     /**
      * Constructor
      *
      * @param v           List of vehicle
+     * @param rn          The road network
+     * @param clock       The clock giving the simulated time
      * @param coolingTime Time to refresh statistics in seconds
      */
-    public Statistics(ArrayList<Vehicle> v, RoadNetwork rn, int coolingTime) {
+    public Statistics(ArrayList<Vehicle> v, RoadNetwork rn, SimClock clock, int coolingTime) {
         vehicles = v;
+        this.clock = clock;
         this.coolingTime = coolingTime;
         running = true;
         pause = false;
-        beginSimulationTimePause = 0;
 
         // Calculating the network occupancy rate
-        double distanceNetwork = 0;
-        for (RoadSegment roadSegment : rn) {
-            distanceNetwork += roadSegment.getRoadLength();
-        }
+        double distanceNetwork = rn.lengthInMeters();
         networkOccupancy = rounded((getSizeAllCar() / distanceNetwork) * 100, 2);
 
-        // keep the current time
-        simulationStartTime = System.currentTimeMillis();
+        // keep the current simulated time
+        simulationStartTime = clock.getTime();
     }
 
     /**
      * Allows you to pause the data collection of statistics
+     * <p>
+     * Note: the simulated time doesn't advance while the simulation is paused
      */
     public void pause() {
         if (running && !pause) {
-            beginSimulationTimePause = System.currentTimeMillis();
             pause = true;
         }
     }
@@ -94,7 +93,6 @@ public class Statistics extends Thread {
     public void restart() {
         if (running && pause) {
             pause = false;
-            simulationStartTime += (System.currentTimeMillis() - beginSimulationTimePause);
         }
     }
 
@@ -135,18 +133,18 @@ public class Statistics extends Thread {
      * @return The average waiting time of all vehicles
      */
     public double getWaitingTime() {
-        // check if there is a vehicle
-        if (vehicles.size() == 0)
+        // check if there is a vehicle and if the simulation has started
+        if (vehicles.size() == 0 || elapsedTime() <= 0)
             return 0;
 
         // adds up all the waiting times for each vehicle
-        long average = 0;
+        double average = 0;
         for (Vehicle v : vehicles) {
             average += v.getWaitingTime();
         }
 
         // achieves the average
-        return rounded((double) average / (vehicles.size() * elapsedTime()) * 100, 3);
+        return rounded(average / (vehicles.size() * elapsedTime()) * 100, 3);
     }
 
     /**
@@ -166,7 +164,7 @@ public class Statistics extends Thread {
     /**
      * Calculating the size of all vehicles
      *
-     * @return The size of all vehicles
+     * @return The size of all vehicles [m]
      */
     private double getSizeAllCar() {
         if (vehicles.size() == 0)
@@ -174,7 +172,7 @@ public class Statistics extends Thread {
 
         double sizeAllCar = 0;
         for (Vehicle v : vehicles) {
-            sizeAllCar += Conversions.metersToPixels(8, v.getLength());
+            sizeAllCar += v.getLength();
         }
 
         return sizeAllCar;
@@ -194,12 +192,12 @@ public class Statistics extends Thread {
     }
 
     /**
-     * Duration of the current simulation
+     * Duration of the current simulation, in simulated time
      *
-     * @return Duration of the current simulation
+     * @return Duration of the current simulation [s]
      */
-    private long elapsedTime() {
-        return System.currentTimeMillis() - simulationStartTime;
+    private double elapsedTime() {
+        return clock.getTime() - simulationStartTime;
     }
 
     /**
@@ -278,7 +276,7 @@ public class Statistics extends Thread {
             writer.append(date);
             writer.append(separator);
             // adding duration
-            writer.append(convertMsToHour(elapsedTime()));
+            writer.append(convertMsToHour(Math.round(elapsedTime() * 1000)));
             writer.append(separator);
             // adding scenario
             writer.append(scenario.toString());
@@ -332,7 +330,7 @@ public class Statistics extends Thread {
             for (Vehicle v : vehicles) {
                 writer.append(counter++ + separator);
                 writer.append(v.getVehicleController().getControllerType().toString() + separator);
-                writer.append((v.getWaitingTime() / 1000) + "s" + separator);
+                writer.append(v.getWaitingTime() + "s" + separator);
                 writer.append(v.getNbOfAccidents() + "\n");
             }
 
@@ -6,7 +6,8 @@
 package ch.heigvd.sitr.utils;
 
 import lombok.Getter;
-import org.apache.commons.math3.distribution.UniformRealDistribution;
+
+import java.util.SplittableRandom;
 
 /**
  * Provides noise functions
@@ -15,16 +16,44 @@ import org.apache.commons.math3.distribution.UniformRealDistribution;
  *       the capacity drop, platoons, and times-to-collision as effects of variance-driven time gaps
  *       http://arxiv.org/abs/physics/0508222 by M. Treiber, A. Kesting, D. Helbing
  *
+ * Each instance draws from its own random stream, so that noise processes of different vehicles
+ * can be updated concurrently and a run can be replayed from its seed.
+ *
  * @author Simon Walther
  */
 public class AccelerationNoise {
     static private final double TAU_RELAXATION_TIME = 0.4; // tau relaxation time in [s]
     static private final double FLUCTUATION_STRENGTH = 0.5;
-    static private UniformRealDistribution uniformRealDistribution = new UniformRealDistribution(-0.5, 0.5);
+
+    // Random stream of this noise process
+    private final SplittableRandom random;
 
     @Getter
     private double accelerationNoise = 0;
 
+    // Time difference for which the factors below were computed [s]
+    private double deltaT = Double.NaN;
+    // Decay factor of the noise over deltaT
+    private double decay;
+    // Diffusion factor of the noise over deltaT [m/s^2]
+    private double diffusion;
+
+    /**
+     * Constructor with an unseeded random stream
+     */
+    public AccelerationNoise() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param random the random stream of this noise process, must not be shared
+     */
+    public AccelerationNoise(SplittableRandom random) {
+        this.random = random;
+    }
+
     /**
      * Use Wiener process to determines the new acceleration white noise
      *
@@ -33,7 +62,60 @@ public class AccelerationNoise {
      * @param deltaT the time difference [s]
      */
     public void updateAccelerationWhiteNoise(double deltaT) {
-        accelerationNoise *= Math.exp(-deltaT / TAU_RELAXATION_TIME);
-        accelerationNoise += FLUCTUATION_STRENGTH * Math.sqrt(2 * deltaT / TAU_RELAXATION_TIME) * uniformRealDistribution.sample();
+        if (deltaT != this.deltaT) {
+            this.deltaT = deltaT;
+            decay = decay(deltaT);
+            diffusion = diffusion(deltaT);
+        }
+
+        accelerationNoise = accelerationNoise * decay + diffusion * sample();
+    }
+
+    /**
+     * Decay factor of the noise over a time difference
+     *
+     * @param deltaT the time difference [s]
+     * @return the factor by which the noise is multiplied
+     */
+    public static double decay(double deltaT) {
+        return Math.exp(-deltaT / TAU_RELAXATION_TIME);
+    }
+
+    /**
+     * Diffusion factor of the noise over a time difference
+     *
+     * @param deltaT the time difference [s]
+     * @return the factor by which a sample in [-0.5, 0.5) is multiplied [m/s^2]
+     */
+    public static double diffusion(double deltaT) {
+        return FLUCTUATION_STRENGTH * Math.sqrt(2 * deltaT / TAU_RELAXATION_TIME);
+    }
+
+    /**
+     * Update a batch of noise processes at once
+     * <p>
+     * Note: a sample of 0 only lets the noise decay
+     *
+     * @param noises    the noises to update [m/s^2]
+     * @param samples   one sample in [-0.5, 0.5) per noise
+     * @param from      the index of the first noise to update
+     * @param to        the index following the last noise to update
+     * @param decay     the decay factor, see decay()
+     * @param diffusion the diffusion factor, see diffusion()
+     */
+    public static void update(double[] noises, double[] samples, int from, int to,
+                              double decay, double diffusion) {
+        for (int i = from; i < to; i++) {
+            noises[i] = noises[i] * decay + diffusion * samples[i];
+        }
+    }
+
+    /**
+     * Draw a sample uniformly distributed in [-0.5, 0.5)
+     *
+     * @return the sample
+     */
+    private double sample() {
+        return random.nextDouble() - 0.5;
     }
 }
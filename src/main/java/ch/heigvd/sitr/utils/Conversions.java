@@ -54,4 +54,26 @@ public class Conversions {
     public static double pixelsToMeters(double scale, int px) {
         return px / scale;
     }
+
+    /**
+     * Convert px to m, without rounding
+     *
+     * @param scale the ratio px/m
+     * @param px    the number of px
+     * @return the number of m
+     */
+    public static double pixelsToMeters(double scale, double px) {
+        return px / scale;
+    }
+
+    /**
+     * Convert m to px, without rounding
+     *
+     * @param scale the ratio px/m
+     * @param m     the number of m
+     * @return the number of px
+     */
+    public static double metersToExactPixels(double scale, double m) {
+        return m * scale;
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ * Filename : TripleBuffer.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free triple buffer handing values over from a single writer thread to a single reader
+ * thread
+ * <p>
+ * The writer fills its back buffer and publishes it, the reader acquires the latest published
+ * buffer. The third buffer sits in the middle, so neither side ever waits for the other and a
+ * buffer is never written while the reader holds it. Buffers are recycled, nothing is allocated
+ * after construction.
+ *
+ * @param <T> the type of the buffers
+ */
+public class TripleBuffer<T> {
+    // Bits of the middle slot holding the index of its buffer
+    private static final int INDEX_MASK = 3;
+
+    // Bit of the middle slot set when it holds a buffer the reader hasn't acquired yet
+    private static final int FRESH = 4;
+
+    // The three buffers
+    private final T[] buffers;
+
+    // Index of the buffer owned by the writer
+    private int back = 0;
+
+    // Index of the buffer owned by the reader
+    private int front = 1;
+
+    // Index of the buffer in between, with the FRESH bit
+    private final AtomicInteger middle = new AtomicInteger(2);
+
+    /**
+     * Constructor
+     *
+     * @param factory the factory creating the three buffers
+     */
+    @SuppressWarnings("unchecked")
+    public TripleBuffer(Supplier<T> factory) {
+        buffers = (T[]) new Object[]{factory.get(), factory.get(), factory.get()};
+    }
+
+    /**
+     * Get the buffer the writer fills before publishing it
+     * <p>
+     * Note: writer side only
+     *
+     * @return the back buffer
+     */
+    public T back() {
+        return buffers[back];
+    }
+
+    /**
+     * Publish the back buffer, making it the latest buffer available to the reader
+     * <p>
+     * Note: writer side only
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Is there a published buffer the reader hasn't acquired yet
+     *
+     * @return true if the latest published buffer is still waiting for the reader
+     */
+    public boolean hasUnread() {
+        return (middle.get() & FRESH) != 0;
+    }
+
+    /**
+     * Acquire the latest published buffer, which stays untouched until the next call
+     * <p>
+     * Note: reader side only
+     *
+     * @return the latest published buffer, the previous one if nothing was published meanwhile
+     */
+    public T acquire() {
+        if (hasUnread()) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+
+        return buffers[front];
+    }
+}
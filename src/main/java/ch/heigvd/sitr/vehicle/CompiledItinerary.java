@@ -0,0 +1,212 @@
+/*
+ * Filename: CompiledItinerary.java
+ * Creation date: 17.10.2026
+ */
+
+package ch.heigvd.sitr.vehicle;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Compiled itinerary is an immutable, array-backed version of an itinerary
+ * <p>
+ * It keeps the id of the road segment of each path and the cumulative length of the paths
+ * preceding it, so the distance between two steps of the itinerary is a subtraction instead of
+ * a walk. Vehicles following the same route share the same instance.
+ * <p>
+ * An itinerary is closed when its last path leads back to its first one, like a ring road, so
+ * the vehicles at its end drive behind the ones at its start.
+ */
+public class CompiledItinerary {
+    // Paths of the itinerary
+    private final ItineraryPath[] paths;
+
+    // Id of the road segment of each path
+    private final int[] segments;
+
+    // Length of each path [m]
+    private final double[] lengths;
+
+    // Cumulative length of the paths preceding each step, the last one being the total length [m]
+    private final double[] offsets;
+
+    // Does each road segment appear only once in the itinerary
+    private final boolean uniqueSegments;
+
+    // Does the last path lead back to the first one
+    private final boolean closed;
+
+    /**
+     * Constructor, for a closed itinerary
+     *
+     * @param paths the paths of the itinerary, in order
+     */
+    public CompiledItinerary(List<ItineraryPath> paths) {
+        this(paths, true);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param paths  the paths of the itinerary, in order
+     * @param closed whether the last path leads back to the first one
+     */
+    public CompiledItinerary(List<ItineraryPath> paths, boolean closed) {
+        this(paths.toArray(new ItineraryPath[0]), closed);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param paths  the paths of the itinerary, in order
+     * @param closed whether the last path leads back to the first one
+     */
+    private CompiledItinerary(ItineraryPath[] paths, boolean closed) {
+        this.paths = paths;
+        this.closed = closed;
+        segments = new int[paths.length];
+        lengths = new double[paths.length];
+        offsets = new double[paths.length + 1];
+
+        HashSet<Integer> seen = new HashSet<>();
+        for (int i = 0; i < paths.length; i++) {
+            segments[i] = paths[i].getRoadSegment().getId();
+            lengths[i] = paths[i].length();
+            offsets[i + 1] = offsets[i] + lengths[i];
+            seen.add(segments[i]);
+        }
+
+        uniqueSegments = seen.size() == paths.length;
+    }
+
+    /**
+     * Get a new itinerary made of this one followed by the given path
+     *
+     * @param path the path to add at the end of the itinerary
+     * @return the new itinerary
+     */
+    public CompiledItinerary append(ItineraryPath path) {
+        ItineraryPath[] appended = Arrays.copyOf(paths, paths.length + 1);
+        appended[paths.length] = path;
+
+        return new CompiledItinerary(appended, closed);
+    }
+
+    /**
+     * Get the number of paths in the itinerary
+     *
+     * @return the itinerary size
+     */
+    public int size() {
+        return paths.length;
+    }
+
+    /**
+     * Get the path at the given step
+     *
+     * @param step the path step
+     * @return the path
+     */
+    public ItineraryPath path(int step) {
+        return paths[step];
+    }
+
+    /**
+     * Get the id of the road segment at the given step
+     *
+     * @param step the path step
+     * @return the road segment id
+     */
+    public int segment(int step) {
+        return segments[step];
+    }
+
+    /**
+     * Get the length of the path at the given step
+     *
+     * @param step the path step
+     * @return the length [m]
+     */
+    public double length(int step) {
+        return lengths[step];
+    }
+
+    /**
+     * Get the total length of the itinerary
+     *
+     * @return the total length [m]
+     */
+    public double totalLength() {
+        return offsets[paths.length];
+    }
+
+    /**
+     * Does each road segment appear only once in the itinerary
+     *
+     * @return true if a road segment identifies a single step
+     */
+    public boolean hasUniqueSegments() {
+        return uniqueSegments;
+    }
+
+    /**
+     * Does the last path of the itinerary lead back to the first one
+     *
+     * @return true if the itinerary is closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Length of the paths from the start of a step to the start of another one, looping back to
+     * the start of the itinerary if needed
+     * <p>
+     * Note: from a step to itself, the whole itinerary is covered
+     *
+     * @param from the first step
+     * @param to   the last step
+     * @return the distance [m]
+     */
+    public double distance(int from, int to) {
+        if (from < to) {
+            return offsets[to] - offsets[from];
+        }
+
+        return offsets[paths.length] - offsets[from] + offsets[to];
+    }
+
+    /**
+     * Length of the paths from the start of a step to the start of the next step on the given road
+     * segment, walking the itinerary
+     * <p>
+     * Note: used when the segment can't be matched to a single step
+     *
+     * @param from        the first step
+     * @param segment     the id of the road segment to reach
+     * @param skipCurrent whether to skip the first step even if it's on the road segment
+     * @return the distance [m], or infinity if the road segment isn't part of the itinerary
+     */
+    public double distanceTo(int from, int segment, boolean skipCurrent) {
+        double distance = 0;
+        int step = from;
+
+        if (skipCurrent && segments[step] == segment) {
+            distance += lengths[step];
+            step = (step + 1) % paths.length;
+        }
+
+        for (int i = 0; i < paths.length; i++) {
+            if (segments[step] == segment) {
+                return distance;
+            }
+
+            distance += lengths[step];
+            step = (step + 1) % paths.length;
+        }
+
+        return Double.POSITIVE_INFINITY;
+    }
+}
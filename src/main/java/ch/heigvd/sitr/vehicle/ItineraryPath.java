@@ -21,26 +21,37 @@ public class ItineraryPath {
     @Getter
     RoadSegment roadSegment;
 
-    // scale to be applied
-    private double scale;
+    // Length of the road segment, computed once [m]
+    private final double length;
+
+    /**
+     * Constructor, using the length in meters computed by the road network
+     *
+     * @param roadSegment the road segment
+     */
+    public ItineraryPath(RoadSegment roadSegment) {
+        this.roadSegment = roadSegment;
+        this.length = roadSegment.getLengthInMeters();
+    }
 
     /**
      * Constructor
      *
      * @param roadSegment the road segment
+     * @param scale       the ratio px/m of the road segment
      */
     public ItineraryPath(RoadSegment roadSegment, double scale) {
         this.roadSegment = roadSegment;
-        this.scale = scale;
+        this.length = Conversions.pixelsToMeters(scale, roadSegment.getRoadMapping().getRoadLength());
     }
 
     /**
      * Get the length of the vector formed by the itinerary
      *
-     * @return the length
+     * @return the length [m]
      */
     public double length() {
-        return Conversions.pixelsToMeters(scale, (int) roadSegment.getRoadMapping().getRoadLength());
+        return length;
     }
 
     @Override
@@ -0,0 +1,161 @@
+/*
+ * Filename: LeaderIndex.java
+ * Creation date: 17.10.2026
+ */
+
+package ch.heigvd.sitr.vehicle;
+
+import java.util.Arrays;
+
+/**
+ * Leader index finds the front vehicle of every vehicle of a store, whatever their itineraries
+ * <p>
+ * The running vehicles are kept sorted by road segment, then by position on the segment. The
+ * leader of a vehicle is the next one on its segment, or else the rearmost vehicle of the first
+ * occupied segment further along its own itinerary. Vehicles on other routes are therefore seen
+ * as soon as they share a segment with the itinerary ahead.
+ * <p>
+ * The order barely changes from one step to the next, so it is kept between calls and restored
+ * with an insertion sort, which is linear on an almost sorted order.
+ * <p>
+ * Note: only vehicles on the segments of a vehicle's own itinerary are seen, traffic coming from
+ * another approach isn't seen until it enters one of them
+ */
+class LeaderIndex {
+    // Ids of the vehicles, sorted by segment then by position, finished vehicles last
+    private int[] order = new int[0];
+    // Segment of each vehicle, indexed by id
+    private int[] segment = new int[0];
+    // Number of vehicles which haven't finished their itinerary
+    private int running;
+
+    // Segment of each run of vehicles sharing a segment, in ascending order
+    private int[] runSegment = new int[0];
+    // Index in the order of the rearmost vehicle of each run
+    private int[] runStart = new int[0];
+    // Number of runs
+    private int runCount;
+
+    /**
+     * Assign its front vehicle to every vehicle of the store
+     * <p>
+     * Note: finished vehicles get no front vehicle and are never front vehicles
+     *
+     * @param store The vehicle state store
+     */
+    void assign(VehicleStateStore store) {
+        sort(store);
+
+        for (int k = 0; k < store.getSize(); k++) {
+            int id = order[k];
+            Vehicle vehicle = store.vehicles[id];
+            Vehicle leader = (k < running) ? findLeader(store, k) : null;
+            vehicle.assignFrontVehicle(leader == vehicle ? null : leader);
+        }
+    }
+
+    /**
+     * Find the front vehicle of a running vehicle
+     *
+     * @param store The vehicle state store
+     * @param k     The index of the vehicle in the order
+     * @return the front vehicle, or null if there's none
+     */
+    private Vehicle findLeader(VehicleStateStore store, int k) {
+        int id = order[k];
+
+        // Next vehicle on the same segment
+        if (k + 1 < running && segment[order[k + 1]] == segment[id]) {
+            return store.vehicles[order[k + 1]];
+        }
+
+        // Rearmost vehicle of the first occupied segment further along the itinerary
+        CompiledItinerary itinerary = store.vehicles[id].getItinerary();
+        int steps = itinerary.size();
+        int step = store.pathStep[id];
+        int lookahead = itinerary.isClosed() ? steps : steps - 1 - step;
+        for (int j = 1; j <= lookahead; j++) {
+            int run = Arrays.binarySearch(runSegment, 0, runCount, itinerary.segment((step + j) % steps));
+            if (run >= 0) {
+                return store.vehicles[order[runStart[run]]];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Restore the order of the vehicles and split the running ones into runs per segment
+     *
+     * @param store The vehicle state store
+     */
+    private void sort(VehicleStateStore store) {
+        int size = store.getSize();
+        if (order.length != size) {
+            resize(size);
+        }
+
+        for (int id = 0; id < size; id++) {
+            segment[id] = store.vehicles[id].getItinerary().segment(store.pathStep[id]);
+        }
+
+        for (int k = 1; k < size; k++) {
+            int id = order[k];
+            int j = k - 1;
+            while (j >= 0 && compare(store, order[j], id) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = id;
+        }
+
+        running = 0;
+        runCount = 0;
+        while (running < size && !store.finished[order[running]]) {
+            if (runCount == 0 || runSegment[runCount - 1] != segment[order[running]]) {
+                runSegment[runCount] = segment[order[running]];
+                runStart[runCount] = running;
+                runCount++;
+            }
+            running++;
+        }
+    }
+
+    /**
+     * Compare two vehicles : finished ones last, then by segment, position and id
+     *
+     * @param store The vehicle state store
+     * @param a     The id of the first vehicle
+     * @param b     The id of the second vehicle
+     * @return a negative number, zero or a positive number if the first vehicle is before, the
+     * same as or after the second one
+     */
+    private int compare(VehicleStateStore store, int a, int b) {
+        if (store.finished[a] != store.finished[b]) {
+            return store.finished[a] ? 1 : -1;
+        }
+        if (segment[a] != segment[b]) {
+            return Integer.compare(segment[a], segment[b]);
+        }
+        if (store.position[a] != store.position[b]) {
+            return Double.compare(store.position[a], store.position[b]);
+        }
+        return Integer.compare(a, b);
+    }
+
+    /**
+     * Resize the arrays to the number of vehicles of the store, appending the new ids to the order
+     *
+     * @param size The number of vehicles of the store
+     */
+    private void resize(int size) {
+        int previous = order.length;
+        order = Arrays.copyOf(order, size);
+        for (int id = previous; id < size; id++) {
+            order[id] = id;
+        }
+        segment = new int[size];
+        runSegment = new int[size];
+        runStart = new int[size];
+    }
+}
@@ -7,7 +7,6 @@ package ch.heigvd.sitr.vehicle;
 
 import ch.heigvd.sitr.gui.simulation.SimulationWindow;
 import ch.heigvd.sitr.model.VehicleBehaviour;
-import ch.heigvd.sitr.utils.AccelerationNoise;
 import ch.heigvd.sitr.utils.Renderable;
 import lombok.Getter;
 import lombok.Setter;
@@ -21,26 +20,27 @@ import java.awt.geom.Point2D;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.LinkedList;
-import java.util.Observable;
 
 /**
  * Vehicle class represents the simulation vehicles
+ * <p>
+ * Its hot kinematic state lives in a vehicle state store, the vehicle being a view over its slot
  *
  * @author Simon Walther
  */
-public class Vehicle extends Observable implements Renderable {
+public class Vehicle implements Renderable {
     private static final String BASE_CONFIG_PATH = "/vehicle/";
 
     // Color when in accident
     private static final Color ACCIDENT_COLOR = Color.white;
 
-    // Max acceleration in [m/s^2] of the vehicle
+    // Store holding the vehicle's hot state
     @Getter
-    private final double maxAcceleration;
+    private final VehicleStateStore store;
 
-    // Length of the vehicle in [m]
+    // Id of the vehicle in its store
     @Getter
-    private final double length;
+    private final int id;
 
     // Width of the vehicle in [m]
     @Getter
@@ -50,56 +50,27 @@ public class Vehicle extends Observable implements Renderable {
     private final int maximumWaitingSpeed = 1;
 
     // Itinerary of the vehicle, subdivided in multiple paths
-    private LinkedList<ItineraryPath> itinerary;
-
-    // Current path step
-    @Getter
-    @Setter
-    private int pathStep;
-
-    // Position of the vehicle relative to the lane's start [m]
-    @Getter
-    private double position;
-
-    // Speed in [m/s] of the vehicle
-    @Getter
-    private double speed;
-
-    // Max speed in [m/s] of the vehicle
     @Getter
-    private double maxSpeed;
+    private CompiledItinerary itinerary;
 
     // Vehicle in front of this vehicle
     @Getter
-    @Setter
     private Vehicle frontVehicle;
 
-    // Vehicle controller of this vehicle
-    @Getter
-    @Setter
-    private VehicleController vehicleController;
-
-    // Acceleration noise
-    private AccelerationNoise accelerationNoise = new AccelerationNoise();
-
     // Nb of accidents
     @Getter
     private int nbOfAccidents;
 
-    // Vehicle wait time
+    // Vehicle wait time, in simulated time [s]
     @Getter
     private double waitingTime;
 
-    // beginning of the time when the vehicle is waiting
-    private long startTimeWaiting;
+    // beginning of the time when the vehicle is waiting, in simulated time [s]
+    private double startTimeWaiting;
 
     // is the vehicle waiting
     private boolean isWaiting;
 
-    // Has the vehicle finished its itinerary
-    @Getter
-    private boolean finished;
-
     // Is this vehicle in an accident
     @Getter
     private boolean inAccident;
@@ -138,10 +109,26 @@ public class Vehicle extends Observable implements Renderable {
      */
     public Vehicle(VehicleController vehicleController, double length, double width, double maxSpeed,
                    double maxAcceleration, LinkedList<ItineraryPath> itinerary) {
+        this(vehicleController, length, width, maxSpeed, maxAcceleration, itinerary, new VehicleStateStore(1));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param vehicleController controller of the vehicle
+     * @param length            length [m] of the vehicle
+     * @param width             width [m] of the vehicle
+     * @param maxSpeed          max speed [m/s] of the vehicle
+     * @param maxAcceleration   max acceleration [m/s^2] of the vehicle
+     * @param itinerary         the vehicle itinerary
+     * @param store             the store holding the vehicle's state
+     */
+    public Vehicle(VehicleController vehicleController, double length, double width, double maxSpeed,
+                   double maxAcceleration, LinkedList<ItineraryPath> itinerary, VehicleStateStore store) {
+        this.store = store;
+        this.id = store.allocate(this);
         this.width = width;
-        this.length = length;
-        this.maxAcceleration = maxAcceleration;
-        setAttributes(vehicleController, maxSpeed, itinerary);
+        setAttributes(vehicleController, length, maxSpeed, maxAcceleration, new CompiledItinerary(itinerary));
     }
 
     /**
@@ -152,7 +139,36 @@ public class Vehicle extends Observable implements Renderable {
      * @param itinerary         the vehicle itinerary
      */
     public Vehicle(String configPath, VehicleController vehicleController, LinkedList<ItineraryPath> itinerary) {
-        this.vehicleController = vehicleController;
+        this(configPath, vehicleController, itinerary, new VehicleStateStore(1));
+    }
+
+    /**
+     * Create vehicle with configuration taken from an XML configuration file
+     *
+     * @param configPath        the path to the configuration file
+     * @param vehicleController the vehicle controller
+     * @param itinerary         the vehicle itinerary
+     * @param store             the store holding the vehicle's state
+     */
+    public Vehicle(String configPath, VehicleController vehicleController, LinkedList<ItineraryPath> itinerary,
+                   VehicleStateStore store) {
+        this(configPath, vehicleController, new CompiledItinerary(itinerary), store);
+    }
+
+    /**
+     * Create vehicle with configuration taken from an XML configuration file
+     * <p>
+     * Note: vehicles sharing the same compiled itinerary get their front distance in constant time
+     *
+     * @param configPath        the path to the configuration file
+     * @param vehicleController the vehicle controller
+     * @param itinerary         the vehicle compiled itinerary
+     * @param store             the store holding the vehicle's state
+     */
+    public Vehicle(String configPath, VehicleController vehicleController, CompiledItinerary itinerary,
+                   VehicleStateStore store) {
+        this.store = store;
+        this.id = store.allocate(this);
 
         InputStream in = Vehicle.class.getResourceAsStream(BASE_CONFIG_PATH + configPath);
         SAXBuilder saxBuilder = new SAXBuilder();
@@ -176,9 +192,7 @@ public class Vehicle extends Observable implements Renderable {
         }
 
         this.width = width;
-        this.length = length;
-        this.maxAcceleration = maxAcceleration;
-        setAttributes(vehicleController, maxSpeed, itinerary);
+        setAttributes(vehicleController, length, maxSpeed, maxAcceleration, itinerary);
     }
 
     /**
@@ -219,15 +233,20 @@ public class Vehicle extends Observable implements Renderable {
      * Set some of the vehicle's attribute to minimize duplication
      *
      * @param vehicleController controller of the vehicle
+     * @param length            length [m] of the vehicle
      * @param maxSpeed          max speed [m/s] of the vehicle
+     * @param maxAcceleration   max acceleration [m/s^2] of the vehicle
      * @param itinerary         the vehicle itinerary
      */
-    private void setAttributes(VehicleController vehicleController, double maxSpeed,
-                               LinkedList<ItineraryPath> itinerary) {
-        this.vehicleController = vehicleController;
-        this.maxSpeed = maxSpeed;
+    private void setAttributes(VehicleController vehicleController, double length, double maxSpeed,
+                               double maxAcceleration, CompiledItinerary itinerary) {
+        store.controller[id] = vehicleController;
+        store.length[id] = length;
+        store.maxSpeed[id] = maxSpeed;
+        store.maxAcceleration[id] = maxAcceleration;
         this.itinerary = itinerary;
         this.waitingTime = 0;
+        setPathStep(0);
 
         if (vehicleController.getControllerType() != null) {
             this.color = vehicleController.getControllerType().getColor();
@@ -236,26 +255,160 @@ public class Vehicle extends Observable implements Renderable {
         }
     }
 
+    /**
+     * Get the length of the vehicle
+     *
+     * @return the length [m] of the vehicle
+     */
+    public double getLength() {
+        return store.length[id];
+    }
+
+    /**
+     * Get the max acceleration of the vehicle
+     *
+     * @return the max acceleration [m/s^2] of the vehicle
+     */
+    public double getMaxAcceleration() {
+        return store.maxAcceleration[id];
+    }
+
+    /**
+     * Get the max speed of the vehicle
+     *
+     * @return the max speed [m/s] of the vehicle
+     */
+    public double getMaxSpeed() {
+        return store.maxSpeed[id];
+    }
+
+    /**
+     * Get the controller of the vehicle
+     *
+     * @return the controller of the vehicle
+     */
+    public VehicleController getVehicleController() {
+        return store.controller[id];
+    }
+
+    /**
+     * Set the controller of the vehicle
+     *
+     * @param vehicleController the new controller of the vehicle
+     */
+    public void setVehicleController(VehicleController vehicleController) {
+        store.controller[id] = vehicleController;
+    }
+
+    /**
+     * Has the vehicle finished its itinerary
+     *
+     * @return true if the vehicle finished its itinerary
+     */
+    public boolean isFinished() {
+        return store.finished[id];
+    }
+
+    /**
+     * Get the current path step
+     *
+     * @return the current path step
+     */
+    public int getPathStep() {
+        return store.pathStep[id];
+    }
+
+    /**
+     * Set the current path step
+     *
+     * @param pathStep the new path step
+     */
+    public void setPathStep(int pathStep) {
+        loadPathStep(pathStep);
+        store.invalidate();
+    }
+
+    /**
+     * Set the current path step without invalidating the cached neighbourhoods
+     * <p>
+     * Note: the kernel's commit phase runs concurrently, so it must not touch the store's version
+     *
+     * @param pathStep the new path step
+     */
+    private void loadPathStep(int pathStep) {
+        store.pathStep[id] = pathStep;
+        store.pathLength[id] = itinerary.size() == 0 ? 0 : itinerary.length(pathStep);
+    }
+
+    /**
+     * Get the path step before the last update, used to interpolate the rendering
+     *
+     * @return the previous path step
+     */
+    public int getPreviousPathStep() {
+        return store.previousPathStep[id];
+    }
+
+    /**
+     * Get the position before the last update, used to interpolate the rendering
+     *
+     * @return the previous position [m]
+     */
+    public double getPreviousPosition() {
+        return store.previousPosition[id];
+    }
+
+    /**
+     * Get the position of the vehicle relative to the lane's start
+     *
+     * @return the position [m]
+     */
+    public double getPosition() {
+        return store.position[id];
+    }
+
     /**
      * Setter for the position of the vehicle, checking for itinerary length
      *
      * @param position The vehicle's position
      */
     public void setPosition(double position) {
+        advance(position);
+        store.invalidate();
+    }
+
+    /**
+     * Set the position of the vehicle, moving it to its next path if needed, without
+     * invalidating the cached neighbourhoods
+     * <p>
+     * Note: used by the kernel, which invalidates them once for the whole step
+     *
+     * @param position The new position of the vehicle [m]
+     */
+    void advance(double position) {
         // If it exceed the itinerary path length,
         // we add the excess to the position on the next itinerary path
-        if (position > currentPath().length()) {
+        if (position > store.pathLength[id]) {
             // Check if vehicle finished its itinerary
-            if (pathStep != itinerarySize() - 1) {
-                position -= currentPath().length();
-                pathStep++;
+            if (getPathStep() != itinerarySize() - 1) {
+                position -= store.pathLength[id];
+                loadPathStep(getPathStep() + 1);
             } else {
                 position = Double.MAX_VALUE;
-                finished = true;
+                store.finished[id] = true;
             }
         }
 
-        this.position = position;
+        store.position[id] = position;
+    }
+
+    /**
+     * Get the speed of the vehicle
+     *
+     * @return the speed [m/s]
+     */
+    public double getSpeed() {
+        return store.speed[id];
     }
 
     /**
@@ -266,8 +419,8 @@ public class Vehicle extends Observable implements Renderable {
      * @param speed The new speed of the vehicle [m/s]
      */
     public void setSpeed(double speed) {
-        if (speed > maxSpeed) {
-            speed = maxSpeed;
+        if (speed > getMaxSpeed()) {
+            speed = getMaxSpeed();
         }
 
         // Speed shouldn't be negative
@@ -275,7 +428,27 @@ public class Vehicle extends Observable implements Renderable {
             speed = 0;
         }
 
-        this.speed = speed;
+        store.speed[id] = speed;
+        store.invalidate();
+    }
+
+    /**
+     * Set the vehicle in front of this vehicle
+     *
+     * @param frontVehicle the front vehicle
+     */
+    public void setFrontVehicle(Vehicle frontVehicle) {
+        this.frontVehicle = frontVehicle;
+        store.invalidate();
+    }
+
+    /**
+     * Set the vehicle in front of this vehicle, leaving the invalidation of the store to the caller
+     *
+     * @param frontVehicle the front vehicle
+     */
+    void assignFrontVehicle(Vehicle frontVehicle) {
+        this.frontVehicle = frontVehicle;
     }
 
     /**
@@ -284,7 +457,16 @@ public class Vehicle extends Observable implements Renderable {
      * @param deltaT time difference [s]
      */
     public void updateAccelerationNoise(double deltaT) {
-        accelerationNoise.updateAccelerationWhiteNoise(deltaT);
+        VehicleKernel.updateNoise(store, id, id + 1, deltaT);
+    }
+
+    /**
+     * Get the current acceleration noise
+     *
+     * @return the acceleration noise [m/s^2]
+     */
+    public double getAccelerationNoise() {
+        return store.noise[id];
     }
 
     /**
@@ -295,32 +477,20 @@ public class Vehicle extends Observable implements Renderable {
      * @return front distance
      */
     public double frontDistance() {
-        if (frontVehicle == null || frontVehicle == this) {
-            return Double.POSITIVE_INFINITY;
-        }
-
-        // This vehicle position should be subtracted to the distance
-        double frontDistance = -position;
-
-        int path = getPathStep();
-
-        if (position > frontVehicle.position && itinerary.get(path).equals(frontVehicle.currentPath())) {
-            frontDistance += itinerary.get(path).length(); // Add the whole path distance
-            path = (path + 1) % itinerarySize();
-        }
-
-        // Add all itinerary path distance in between
-        while (!itinerary.get(path).equals(frontVehicle.currentPath())) {
-            frontDistance += itinerary.get(path).length(); // Add the whole path distance
-            path = (path + 1) % itinerarySize();
-        }
-
-        frontDistance += frontVehicle.getPosition();
-
-        // We subtract from this distance, the distance from the vehicles center and vehicles extremities
-        frontDistance -= (this.getLength() / 2 + frontVehicle.getLength() / 2);
+        updateNeighbourhood();
+        return store.frontDistance[id];
+    }
 
-        return frontDistance;
+    /**
+     * Speed of the front vehicle
+     * <p>
+     * Note : if there is no front vehicle, leader speed is equal to 0
+     *
+     * @return the leader speed [m/s]
+     */
+    public double leaderSpeed() {
+        updateNeighbourhood();
+        return store.leaderSpeed[id];
     }
 
     /**
@@ -331,7 +501,57 @@ public class Vehicle extends Observable implements Renderable {
      * @return the relative speed
      */
     public double relSpeed() {
-        return (frontVehicle != null) ? speed - frontVehicle.getSpeed() : 0;
+        updateNeighbourhood();
+        return store.relSpeed[id];
+    }
+
+    /**
+     * Compute the gap, leader speed and relative speed of the vehicle, unless they were already
+     * computed for the current state
+     * <p>
+     * Note: the cache is only used when the front vehicle lives in the same store, otherwise the
+     * changes of the front vehicle wouldn't invalidate it
+     */
+    void updateNeighbourhood() {
+        if (store.isNeighbourhoodValid(id) && (frontVehicle == null || frontVehicle.store == store)) {
+            return;
+        }
+
+        store.frontDistance[id] = walkFrontDistance();
+        store.leaderSpeed[id] = (frontVehicle != null) ? frontVehicle.getSpeed() : 0;
+        store.relSpeed[id] = (frontVehicle != null) ? getSpeed() - store.leaderSpeed[id] : 0;
+        store.validateNeighbourhood(id);
+    }
+
+    /**
+     * Compute the front distance [m] between this vehicle and its front vehicle
+     * <p>
+     * Note: constant time if both vehicles share the same itinerary, otherwise walks this
+     * vehicle's itinerary until the front vehicle's road segment
+     *
+     * @return front distance
+     */
+    private double walkFrontDistance() {
+        if (frontVehicle == null || frontVehicle == this) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double position = getPosition();
+        double frontPosition = frontVehicle.getPosition();
+        int path = getPathStep();
+        int frontPath = frontVehicle.getPathStep();
+
+        // Distance between the start of this vehicle's path and the start of the front vehicle's path
+        double pathsDistance;
+        if (frontVehicle.itinerary == itinerary && itinerary.hasUniqueSegments()) {
+            pathsDistance = (path == frontPath && position <= frontPosition) ? 0 : itinerary.distance(path, frontPath);
+        } else {
+            pathsDistance = itinerary.distanceTo(path, frontVehicle.itinerary.segment(frontPath),
+                    position > frontPosition);
+        }
+
+        // We subtract from this distance, the distance from the vehicles center and vehicles extremities
+        return pathsDistance - position + frontPosition - (this.getLength() / 2 + frontVehicle.getLength() / 2);
     }
 
     /**
@@ -344,6 +564,7 @@ public class Vehicle extends Observable implements Renderable {
     public double acceleration() {
         double acceleration = getVehicleController().acceleration(this);
 
+        double maxAcceleration = getMaxAcceleration();
         if (acceleration > maxAcceleration) {
             acceleration = maxAcceleration;
         } else if (acceleration < -maxAcceleration) {
@@ -359,9 +580,9 @@ public class Vehicle extends Observable implements Renderable {
      * @param deltaT time difference [s]
      */
     void updateSpeed(double deltaT) {
-        if (vehicleController.isHumanDriven()) {
+        if (getVehicleController().isHumanDriven()) {
             // Set speed taking noise in account
-            setSpeed(getSpeed() + speedDifference(acceleration(), deltaT, accelerationNoise.getAccelerationNoise()));
+            setSpeed(getSpeed() + speedDifference(acceleration(), deltaT, getAccelerationNoise()));
         } else {
             setSpeed(getSpeed() + speedDifference(acceleration(), deltaT));
         }
@@ -371,19 +592,22 @@ public class Vehicle extends Observable implements Renderable {
 
     /**
      * increments the vehicle wait time if the speed is low
+     * <p>
+     * Note: uses the simulation clock of the vehicle's store
      */
-    private void checkWaiting() {
+    void checkWaiting() {
+        double current = store.getClock().getTime();
+
         if (isWaiting && getSpeed() < maximumWaitingSpeed) {
-            long current = System.currentTimeMillis();
             waitingTime += current - startTimeWaiting;
             // updates the start of the wait time because already calculate
             startTimeWaiting = current;
         } else if (isWaiting && getSpeed() >= maximumWaitingSpeed) {
             isWaiting = false;
-            waitingTime += System.currentTimeMillis() - startTimeWaiting;
+            waitingTime += current - startTimeWaiting;
         } else if (!isWaiting && getSpeed() < maximumWaitingSpeed) {
             isWaiting = true;
-            startTimeWaiting = System.currentTimeMillis();
+            startTimeWaiting = current;
         }
     }
 
@@ -402,44 +626,44 @@ public class Vehicle extends Observable implements Renderable {
      * @param deltaT the time difference [s]
      */
     public void update(double deltaT) {
-        if (finished) {
+        if (isFinished()) {
             return;
         }
 
-        // Update noise if it's a human driven vehicle
-        if (vehicleController.isHumanDriven()) {
-            // Update the acceleration noise
-            updateAccelerationNoise(deltaT);
-        }
-
-        // First update speed according to the vehicle acceleration
-        updateSpeed(deltaT);
-        // handle what happens in case of accident
-        handleAccidents();
-        // Then update position, taking into account the new speed
-        updatePosition(deltaT);
-
-        // Observer pattern changes
-        setChanged();
+        VehicleKernel.update(store, id, deltaT);
     }
 
     /**
      * Handle what happens in case of accident
      */
     public void handleAccidents() {
-        // TODO : optimize this, we call frontDistance() even though it has already been calculated in acceleration()
         double frontDistance = frontDistance();
 
+        if (updateAccidentStatus(frontDistance)) {
+            // stop this vehicle
+            store.speed[id] = 0;
+
+            // set the vehicle back
+            store.position[id] += frontDistance - 0.1;
+            store.invalidate();
+        }
+    }
+
+    /**
+     * Update the accident status of the vehicle, the caller being in charge of stopping the
+     * vehicle and setting it back in case of new accident
+     *
+     * @param frontDistance the front distance [m] already computed for this step
+     * @return true if a new accident occurred
+     */
+    boolean updateAccidentStatus(double frontDistance) {
+        boolean newAccident = false;
+
         // if frontDistance is <= 0, an accident occurred, if not already in accident
         if (frontDistance <= 0 && !inAccident) {
             nbOfAccidents++;
             inAccident = true;
-
-            // stop this vehicle
-            speed = 0;
-
-            // set the vehicle back
-            position += frontDistance - 0.1;
+            newAccident = true;
 
             // set vehicle to accident color
             oldColor = color;
@@ -453,6 +677,8 @@ public class Vehicle extends Observable implements Renderable {
             // set back color
             color = oldColor;
         }
+
+        return newAccident;
     }
 
     /**
@@ -462,8 +688,20 @@ public class Vehicle extends Observable implements Renderable {
      */
     @Override
     public void draw(double scale) {
-        rectangle = VehicleRenderer.getInstance().display(SimulationWindow.getInstance().getSimulationPane(),
-                this, scale);
+        draw(scale, 1);
+    }
+
+    /**
+     * Method that calls the renderer in order to draw the Vehicle on the simulation pane,
+     * interpolated between its state before and after the last update
+     *
+     * @param scale         the ratio px/m
+     * @param interpolation the interpolation factor, between 0 (previous state) and 1 (current state)
+     */
+    public void draw(double scale, double interpolation) {
+        Graphics2D g = SimulationWindow.getInstance().getSimulationPane();
+        rectangle = VehicleRenderer.getInstance().display(g, this, scale, interpolation);
+        g.dispose();
     }
 
     /**
@@ -472,19 +710,31 @@ public class Vehicle extends Observable implements Renderable {
      * @return the current path
      */
     public ItineraryPath currentPath() {
-        return itinerary.get(pathStep);
+        return itinerary.path(getPathStep());
+    }
+
+    /**
+     * Get the path at the given step of the vehicle's itinerary
+     *
+     * @param step the path step
+     * @return the path
+     */
+    public ItineraryPath pathAt(int step) {
+        return itinerary.path(step);
     }
 
     /**
      * Add itinerary path to the itinerary
      * <p>
-     * Note: does not add it if null
+     * Note: does not add it if null. The itinerary is compiled again, so the vehicle no longer shares
+     * it with the vehicles following the same route
      *
      * @param itineraryPath the itinerary path
      */
     public void addToItinerary(ItineraryPath itineraryPath) {
         if (itineraryPath != null) {
-            itinerary.add(itineraryPath);
+            itinerary = itinerary.append(itineraryPath);
+            store.invalidate();
         }
     }
 
@@ -503,7 +753,7 @@ public class Vehicle extends Observable implements Renderable {
      * Note: if exceed max path step, path step does not change
      */
     public void moveToNextPath() {
-        pathStep = (pathStep + 1) % itinerarySize();
+        setPathStep((getPathStep() + 1) % itinerarySize());
     }
 
     /**
@@ -519,7 +769,7 @@ public class Vehicle extends Observable implements Renderable {
             case LOOP:
                 setPathStep(0);
                 setPosition(0);
-                finished = false;
+                store.finished[id] = false;
                 break;
         }
     }
@@ -532,22 +782,32 @@ public class Vehicle extends Observable implements Renderable {
     @Override
     public String toString() {
         String ret = "";
-        ret += "pos: " + position;
-        ret += " || a: " + ((vehicleController != null) ? acceleration() : "");
-        ret += " || v: " + speed;
+        ret += "pos: " + getPosition();
+        ret += " || a: " + ((getVehicleController() != null) ? acceleration() : "");
+        ret += " || v: " + getSpeed();
         ret += " || frontDistance: " + frontDistance();
-        ret += " || noise: " + ((accelerationNoise != null) ? accelerationNoise.getAccelerationNoise() : "0");
+        ret += " || noise: " + getAccelerationNoise();
         ret += " || accident " + nbOfAccidents;
 
         return ret;
     }
 
     /**
-     * Method used to initiate the observable and allow observer to set its values
+     * Subscribe a listener to the changes of this vehicle
+     *
+     * @param listener the listener
+     */
+    public void addListener(VehicleListener listener) {
+        store.getEventBus().subscribe(this, listener);
+    }
+
+    /**
+     * Unsubscribe a listener from the changes of this vehicle
+     *
+     * @param listener the listener
      */
-    public void initiateObservable() {
-        setChanged();
-        notifyObservers();
+    public void removeListener(VehicleListener listener) {
+        store.getEventBus().unsubscribe(this, listener);
     }
 
     /**
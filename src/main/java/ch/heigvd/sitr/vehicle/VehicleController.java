@@ -40,7 +40,6 @@ public class VehicleController {
 
     // Desired velocity (v0) of the vehicle controller [m/s]
     @Getter
-    @Setter
     private double desiredVelocity;
 
     // Minimum spacing (s0) of the vehicle controller [m]
@@ -55,14 +54,18 @@ public class VehicleController {
 
     // Max acceleration (a) of the vehicle controller [m/s^2]
     @Getter
-    @Setter
     private double maxAcceleration;
 
     // Comfortable braking deceleration (b) of the vehicle controller [m/s^2]
     @Getter
-    @Setter
     private double comfortableBrakingDeceleration;
 
+    // Inverse of the desired velocity (1 / v0) [s/m], derived from the parameters
+    private double inverseDesiredVelocity;
+
+    // Inverse of the IDM braking term (1 / (2 * sqrt(a * b))) [s^2/m], derived from the parameters
+    private double inverseBrakingTerm;
+
     // If this vehicle is human driven
     @Getter
     @Setter
@@ -80,6 +83,7 @@ public class VehicleController {
         this.maxAcceleration = maxAcceleration;
         this.comfortableBrakingDeceleration = comfortableBrakingDeceleration;
         this.humanDriven = humanDriven;
+        computeConstants();
     }
 
     /**
@@ -107,6 +111,47 @@ public class VehicleController {
         } catch (IOException | JDOMException io) {
             System.out.println(io.getMessage());
         }
+
+        computeConstants();
+    }
+
+    /**
+     * Set the desired velocity (v0)
+     *
+     * @param desiredVelocity the desired velocity [m/s]
+     */
+    public void setDesiredVelocity(double desiredVelocity) {
+        this.desiredVelocity = desiredVelocity;
+        computeConstants();
+    }
+
+    /**
+     * Set the max acceleration (a)
+     *
+     * @param maxAcceleration the max acceleration [m/s^2]
+     */
+    public void setMaxAcceleration(double maxAcceleration) {
+        this.maxAcceleration = maxAcceleration;
+        computeConstants();
+    }
+
+    /**
+     * Set the comfortable braking deceleration (b)
+     *
+     * @param comfortableBrakingDeceleration the comfortable braking deceleration [m/s^2]
+     */
+    public void setComfortableBrakingDeceleration(double comfortableBrakingDeceleration) {
+        this.comfortableBrakingDeceleration = comfortableBrakingDeceleration;
+        computeConstants();
+    }
+
+    /**
+     * Compute the constants of the IDM derived from the parameters, so that they're not computed
+     * at each acceleration
+     */
+    private void computeConstants() {
+        inverseDesiredVelocity = 1 / desiredVelocity;
+        inverseBrakingTerm = 1 / (2 * sqrt(maxAcceleration * comfortableBrakingDeceleration));
     }
 
     /**
@@ -146,11 +191,12 @@ public class VehicleController {
         double dynamicalTerm = (vehicle.getSpeed() * vehicle.relSpeed()) /
                 (2 * sqrt(maxAcceleration * comfortableBrakingDeceleration));
 
-        if (safeDistance(vehicle) - minimumSpacing + dynamicalTerm < 0) {
+        double safeDistance = safeDistance(vehicle);
+        if (safeDistance - minimumSpacing + dynamicalTerm < 0) {
             return minimumSpacing;
         }
 
-        return safeDistance(vehicle) + dynamicalTerm;
+        return safeDistance + dynamicalTerm;
     }
 
     /**
@@ -185,7 +231,30 @@ public class VehicleController {
      * @return the acceleration
      */
     public double acceleration(Vehicle vehicle) {
-        return desiredAcceleration(vehicle) - maxAcceleration *
-                Math.pow((desiredDynamicalDistance(vehicle) / vehicle.frontDistance()), 2);
+        return acceleration(vehicle.getSpeed(), vehicle.relSpeed(), vehicle.frontDistance());
+    }
+
+    /**
+     * Calculate the acceleration from primitive inputs, for the update loops
+     * a * [1 - (v / v0)^delta - (s*(v, deltaV) / s)^2]
+     * <p>
+     * Note: same formula as the other methods, with the constants folded and the powers
+     * replaced by multiplications (delta being 4)
+     *
+     * @param speed    v (speed) [m/s]
+     * @param relSpeed deltaV (relative speed) [m/s]
+     * @param distance s (front distance) [m]
+     * @return the acceleration [m/s^2]
+     */
+    public double acceleration(double speed, double relSpeed, double distance) {
+        // Desired dynamical distance s*
+        double dynamicalTerm = speed * desiredTimeHeadway + speed * relSpeed * inverseBrakingTerm;
+        double desiredDistance = minimumSpacing + (dynamicalTerm < 0 ? 0 : dynamicalTerm);
+
+        double speedRatio = speed * inverseDesiredVelocity;
+        double speedRatioSquared = speedRatio * speedRatio;
+        double distanceRatio = desiredDistance / distance;
+
+        return maxAcceleration * (1 - speedRatioSquared * speedRatioSquared - distanceRatio * distanceRatio);
     }
 }
@@ -0,0 +1,164 @@
+/*
+ * Filename: VehicleEventBus.java
+ * Creation date: 17.10.2026
+ */
+
+package ch.heigvd.sitr.vehicle;
+
+import java.util.ArrayList;
+
+/**
+ * Vehicle event bus notifies listeners of the changes of the vehicles they subscribed to
+ * <p>
+ * Only subscribed vehicles are published. The subscriptions are kept in an array which is replaced
+ * as a whole when a listener subscribes or unsubscribes, so publishing and flushing never lock and,
+ * when nobody is listening, cost a single read.
+ * <p>
+ * When coalescing, a step only marks the subscriptions as pending and the listeners are notified
+ * once per flush, for example once per rendered frame, however many steps were made meanwhile.
+ */
+public class VehicleEventBus {
+    private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+
+    // Current subscriptions, never modified in place
+    private volatile Subscription[] subscriptions = NO_SUBSCRIPTIONS;
+
+    // Are the notifications delayed until the next flush
+    private volatile boolean coalescing;
+
+    /**
+     * Subscribe a listener to the changes of a vehicle
+     *
+     * @param vehicle  the vehicle to listen to
+     * @param listener the listener
+     */
+    public synchronized void subscribe(Vehicle vehicle, VehicleListener listener) {
+        Subscription[] current = subscriptions;
+        Subscription[] updated = new Subscription[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = new Subscription(vehicle, listener);
+
+        subscriptions = updated;
+    }
+
+    /**
+     * Unsubscribe a listener from the changes of a vehicle
+     *
+     * @param vehicle  the vehicle listened to
+     * @param listener the listener
+     */
+    public synchronized void unsubscribe(Vehicle vehicle, VehicleListener listener) {
+        ArrayList<Subscription> kept = new ArrayList<>();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.vehicle != vehicle || subscription.listener != listener) {
+                kept.add(subscription);
+            }
+        }
+
+        subscriptions = kept.isEmpty() ? NO_SUBSCRIPTIONS : kept.toArray(NO_SUBSCRIPTIONS);
+    }
+
+    /**
+     * Unsubscribe a listener from the changes of every vehicle
+     *
+     * @param listener the listener
+     */
+    public synchronized void unsubscribe(VehicleListener listener) {
+        ArrayList<Subscription> kept = new ArrayList<>();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.listener != listener) {
+                kept.add(subscription);
+            }
+        }
+
+        subscriptions = kept.isEmpty() ? NO_SUBSCRIPTIONS : kept.toArray(NO_SUBSCRIPTIONS);
+    }
+
+    /**
+     * Is anybody listening
+     *
+     * @return true if there is at least one subscription
+     */
+    public boolean hasSubscribers() {
+        return subscriptions.length > 0;
+    }
+
+    /**
+     * Are the notifications delayed until the next flush
+     *
+     * @return true if the notifications are coalesced
+     */
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * Choose whether the notifications are delayed until the next flush
+     *
+     * @param coalescing true to coalesce the notifications
+     */
+    public void setCoalescing(boolean coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    /**
+     * Publish the changes made by a step to a range of vehicles of a store
+     * <p>
+     * Note: only the vehicles still running their itinerary have changed
+     *
+     * @param store the store of the vehicles
+     * @param from  the id of the first vehicle of the range
+     * @param to    the id following the last vehicle of the range
+     */
+    void publish(VehicleStateStore store, int from, int to) {
+        Subscription[] current = subscriptions;
+        if (current.length == 0) {
+            return;
+        }
+
+        for (Subscription subscription : current) {
+            int id = subscription.vehicle.getId();
+            if (subscription.vehicle.getStore() == store && id >= from && id < to && !store.finished[id]) {
+                subscription.pending = true;
+            }
+        }
+
+        if (!coalescing) {
+            flush();
+        }
+    }
+
+    /**
+     * Notify the listeners of the vehicles changed since the last flush
+     */
+    public void flush() {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.pending) {
+                subscription.pending = false;
+                subscription.listener.vehicleChanged(subscription.vehicle);
+            }
+        }
+    }
+
+    /**
+     * Subscription of a listener to a vehicle
+     */
+    private static class Subscription {
+        private final Vehicle vehicle;
+        private final VehicleListener listener;
+
+        // Has the vehicle changed since the last flush
+        private volatile boolean pending;
+
+        /**
+         * Constructor
+         *
+         * @param vehicle  the vehicle listened to
+         * @param listener the listener
+         */
+        Subscription(Vehicle vehicle, VehicleListener listener) {
+            this.vehicle = vehicle;
+            this.listener = listener;
+        }
+    }
+}
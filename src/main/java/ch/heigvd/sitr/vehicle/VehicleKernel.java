@@ -0,0 +1,350 @@
+/*
+ * Filename: VehicleKernel.java
+ * Creation date: 17.10.2026
+ */
+
+package ch.heigvd.sitr.vehicle;
+
+import ch.heigvd.sitr.utils.AccelerationNoise;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Vehicle kernel computes the IDM accelerations and integrates speeds and positions directly
+ * over the arrays of a vehicle state store
+ * <p>
+ * A step has two phases. The first one computes every front distance and acceleration from the
+ * current buffers, which are read-only during this phase. The second one writes the new speeds
+ * and positions into the next buffers, which are then swapped with the current ones. The result
+ * of a step therefore doesn't depend on the order of the vehicles.
+ * <p>
+ * Since every phase only writes the slots of the vehicles it updates, each phase can be split
+ * across the threads of a fork/join pool over contiguous ranges of ids. Each vehicle draws its
+ * acceleration noise from its own random stream, so the noise is updated along with the
+ * accelerations and a parallel step gives exactly the same result as a sequential one.
+ * <p>
+ * The accelerations are given by the primitive IDM kernel of VehicleController
+ */
+public final class VehicleKernel {
+    // Minimum number of vehicles in a range handled by a single fork/join task
+    static final int MIN_RANGE = 256;
+
+    /**
+     * Private constructor to avoid instantiation
+     */
+    private VehicleKernel() {
+    }
+
+    /**
+     * Update speed and position of every vehicle of the store which hasn't finished its itinerary
+     *
+     * @param store  The vehicle state store
+     * @param deltaT The time difference [s]
+     */
+    public static void update(VehicleStateStore store, double deltaT) {
+        assignLeaders(store);
+        updateNoise(store, 0, store.getSize(), deltaT);
+        computeAccelerations(store, 0, store.getSize());
+        integrate(store, 0, store.getSize(), deltaT);
+        store.swap();
+        commit(store, 0, store.getSize());
+        store.invalidate();
+        store.getEventBus().publish(store, 0, store.getSize());
+    }
+
+    /**
+     * Update speed and position of every vehicle of the store which hasn't finished its itinerary,
+     * splitting each phase across the threads of a fork/join pool
+     *
+     * @param store  The vehicle state store
+     * @param deltaT The time difference [s]
+     * @param pool   The pool running the phases, null to run them on the calling thread
+     */
+    public static void update(VehicleStateStore store, double deltaT, ForkJoinPool pool) {
+        if (pool == null || pool.getParallelism() == 1 || store.getSize() <= MIN_RANGE) {
+            update(store, deltaT);
+            return;
+        }
+
+        assignLeaders(store);
+        store.prepareNoise(deltaT);
+        pool.invoke(new RangeTask(Phase.ACCELERATION, store, 0, store.getSize(), deltaT));
+        pool.invoke(new RangeTask(Phase.INTEGRATION, store, 0, store.getSize(), deltaT));
+        store.swap();
+        pool.invoke(new RangeTask(Phase.COMMIT, store, 0, store.getSize(), deltaT));
+        store.invalidate();
+        store.getEventBus().publish(store, 0, store.getSize());
+    }
+
+    /**
+     * Find the front vehicle of every vehicle of the store, if its leader search is enabled
+     *
+     * @param store The vehicle state store
+     */
+    public static void assignLeaders(VehicleStateStore store) {
+        LeaderIndex leaderIndex = store.getLeaderIndex();
+        if (leaderIndex == null) {
+            return;
+        }
+
+        leaderIndex.assign(store);
+        store.invalidate();
+    }
+
+    /**
+     * Update speed and position of one vehicle of the store, in place
+     *
+     * @param store  The vehicle state store
+     * @param i      The id of the vehicle
+     * @param deltaT The time difference [s]
+     */
+    public static void update(VehicleStateStore store, int i, double deltaT) {
+        if (store.finished[i]) {
+            return;
+        }
+
+        updateNoise(store, i, i + 1, deltaT);
+        computeAcceleration(store, i);
+        integrate(store, i, deltaT, store.speed, store.position);
+        commit(store, i);
+        store.invalidate();
+        store.getEventBus().publish(store, i, i + 1);
+    }
+
+    /**
+     * Update the acceleration noise of the human driven vehicles of a range
+     *
+     * @param store  The vehicle state store
+     * @param from   The id of the first vehicle of the range
+     * @param to     The id following the last vehicle of the range
+     * @param deltaT The time difference [s]
+     */
+    public static void updateNoise(VehicleStateStore store, int from, int to, double deltaT) {
+        store.prepareNoise(deltaT);
+        updateNoise(store, from, to);
+    }
+
+    /**
+     * Update the acceleration noise of the human driven vehicles of a range, with the noise
+     * factors already computed by the store
+     * <p>
+     * The samples are drawn first, each vehicle from its own stream, then the Wiener processes are
+     * all updated in a single loop. Other vehicles get a sample of 0, their noise only decays.
+     *
+     * @param store The vehicle state store
+     * @param from  The id of the first vehicle of the range
+     * @param to    The id following the last vehicle of the range
+     */
+    private static void updateNoise(VehicleStateStore store, int from, int to) {
+        double[] samples = store.noiseSample;
+        for (int i = from; i < to; i++) {
+            samples[i] = !store.finished[i] && store.controller[i].isHumanDriven() ?
+                    store.random[i].nextDouble() - 0.5 : 0;
+        }
+
+        AccelerationNoise.update(store.noise, samples, from, to, store.noiseDecay, store.noiseDiffusion);
+    }
+
+    /**
+     * First phase : compute the front distance and acceleration of a range of vehicles
+     * <p>
+     * Note: only reads the current buffers of the other vehicles
+     *
+     * @param store The vehicle state store
+     * @param from  The id of the first vehicle of the range
+     * @param to    The id following the last vehicle of the range
+     */
+    public static void computeAccelerations(VehicleStateStore store, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!store.finished[i]) {
+                computeAcceleration(store, i);
+            }
+        }
+    }
+
+    /**
+     * Second phase : integrate speed and position of a range of vehicles into the next buffers
+     *
+     * @param store  The vehicle state store
+     * @param from   The id of the first vehicle of the range
+     * @param to     The id following the last vehicle of the range
+     * @param deltaT The time difference [s]
+     */
+    public static void integrate(VehicleStateStore store, int from, int to, double deltaT) {
+        for (int i = from; i < to; i++) {
+            if (store.finished[i]) {
+                // Carry the state over to the next buffers
+                store.nextSpeed[i] = store.speed[i];
+                store.nextPosition[i] = store.position[i];
+            } else {
+                integrate(store, i, deltaT, store.nextSpeed, store.nextPosition);
+            }
+        }
+    }
+
+    /**
+     * After the buffers swap : move the vehicles of a range to their next path if needed and
+     * update their per-vehicle statistics
+     * <p>
+     * Note: only touches the state of the vehicles of the range
+     *
+     * @param store The vehicle state store
+     * @param from  The id of the first vehicle of the range
+     * @param to    The id following the last vehicle of the range
+     */
+    public static void commit(VehicleStateStore store, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!store.finished[i]) {
+                commit(store, i);
+            }
+        }
+    }
+
+    /**
+     * Compute the front distance and acceleration of a vehicle
+     *
+     * @param store The vehicle state store
+     * @param i     The id of the vehicle
+     */
+    private static void computeAcceleration(VehicleStateStore store, int i) {
+        Vehicle vehicle = store.vehicles[i];
+        VehicleController controller = store.controller[i];
+
+        // The only walk through the itinerary of the step, cached for the rest of it
+        vehicle.updateNeighbourhood();
+
+        store.acceleration[i] = clamp(controller.acceleration(store.speed[i], store.relSpeed[i],
+                store.frontDistance[i]),
+                -store.maxAcceleration[i], store.maxAcceleration[i]);
+    }
+
+    /**
+     * Integrate speed and position of a vehicle from its current state
+     *
+     * @param store        The vehicle state store
+     * @param i            The id of the vehicle
+     * @param deltaT       The time difference [s]
+     * @param nextSpeed    The buffer in which to write the new speed
+     * @param nextPosition The buffer in which to write the new position
+     */
+    private static void integrate(VehicleStateStore store, int i, double deltaT,
+                                  double[] nextSpeed, double[] nextPosition) {
+        Vehicle vehicle = store.vehicles[i];
+        double position = store.position[i];
+        double acceleration = store.acceleration[i];
+
+        // Keep the state before the update to interpolate the rendering
+        store.previousPathStep[i] = store.pathStep[i];
+        store.previousPosition[i] = position;
+
+        // First update speed according to the vehicle acceleration
+        double speed = store.speed[i] + (store.controller[i].isHumanDriven() ?
+                Vehicle.speedDifference(acceleration, deltaT, store.noise[i]) :
+                Vehicle.speedDifference(acceleration, deltaT));
+        speed = clamp(speed, 0, store.maxSpeed[i]);
+
+        // Handle what happens in case of accident : stop the vehicle and set it back
+        double frontDistance = store.frontDistance[i];
+        if (vehicle.updateAccidentStatus(frontDistance)) {
+            speed = 0;
+            position += frontDistance - 0.1;
+        }
+
+        // Then update position, taking into account the new speed
+        nextSpeed[i] = speed;
+        nextPosition[i] = position + Vehicle.positionDifference(speed, deltaT);
+    }
+
+    /**
+     * Move a vehicle to its next path if needed and update its per-vehicle statistics
+     *
+     * @param store The vehicle state store
+     * @param i     The id of the vehicle
+     */
+    private static void commit(VehicleStateStore store, int i) {
+        Vehicle vehicle = store.vehicles[i];
+
+        // Moving to the next path is rare, let the vehicle handle it
+        if (store.position[i] > store.pathLength[i]) {
+            vehicle.advance(store.position[i]);
+        }
+
+        vehicle.checkWaiting();
+    }
+
+    /**
+     * Clamp a value between bounds
+     *
+     * @param value The value
+     * @param min   The lower bound
+     * @param max   The upper bound
+     * @return the clamped value
+     */
+    private static double clamp(double value, double min, double max) {
+        if (value > max) {
+            return max;
+        }
+
+        return value < min ? min : value;
+    }
+
+    /**
+     * Phases of a step which can be split across threads
+     */
+    private enum Phase {
+        ACCELERATION, INTEGRATION, COMMIT
+    }
+
+    /**
+     * Fork/join task running a phase of a step over a contiguous range of vehicles, splitting
+     * it in halves until the ranges are small enough
+     */
+    private static class RangeTask extends RecursiveAction {
+        private final Phase phase;
+        private final VehicleStateStore store;
+        private final int from;
+        private final int to;
+        private final double deltaT;
+
+        /**
+         * Constructor
+         *
+         * @param phase  The phase to run
+         * @param store  The vehicle state store
+         * @param from   The id of the first vehicle of the range
+         * @param to     The id following the last vehicle of the range
+         * @param deltaT The time difference [s]
+         */
+        RangeTask(Phase phase, VehicleStateStore store, int from, int to, double deltaT) {
+            this.phase = phase;
+            this.store = store;
+            this.from = from;
+            this.to = to;
+            this.deltaT = deltaT;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= MIN_RANGE) {
+                switch (phase) {
+                    case ACCELERATION:
+                        updateNoise(store, from, to);
+                        computeAccelerations(store, from, to);
+                        break;
+                    case INTEGRATION:
+                        integrate(store, from, to, deltaT);
+                        break;
+                    case COMMIT:
+                        commit(store, from, to);
+                        break;
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(phase, store, from, middle, deltaT),
+                    new RangeTask(phase, store, middle, to, deltaT));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+/*
+ * Filename: VehicleListener.java
+ * Creation date: 17.10.2026
+ */
+
+package ch.heigvd.sitr.vehicle;
+
+/**
+ * Vehicle listener describes objects notified when the state of a vehicle they subscribed to
+ * changes
+ */
+public interface VehicleListener {
+    /**
+     * Called when the state of the vehicle has changed
+     *
+     * @param vehicle the vehicle
+     */
+    void vehicleChanged(Vehicle vehicle);
+}
@@ -6,6 +6,7 @@
 package ch.heigvd.sitr.vehicle;
 
 import ch.heigvd.sitr.map.roadmappings.AngleAndPos;
+import ch.heigvd.sitr.model.FrameSnapshot;
 import ch.heigvd.sitr.map.roadmappings.RoadMapping;
 import ch.heigvd.sitr.utils.Conversions;
 
@@ -21,6 +22,16 @@ public class VehicleRenderer {
     // Unique instance of the class
     private static VehicleRenderer instance;
 
+    // Pose and rotation reused by the single vehicle rendering, only used on the event dispatch thread
+    private final AngleAndPos pose = new AngleAndPos();
+    private final AffineTransform rotation = new AffineTransform();
+
+    // Bounds reused for each vehicle of a frame, only used on the event dispatch thread
+    private final Rectangle bounds = new Rectangle();
+
+    // Pre-rendered vehicles drawn in frames, only used on the event dispatch thread
+    private final VehicleSpriteCache sprites = new VehicleSpriteCache(VehicleSpriteCache.DEFAULT_CAPACITY);
+
     /**
      * Private constructor to avoid instantiation
      */
@@ -36,6 +47,40 @@ public class VehicleRenderer {
      * @return the rectangle object of the car drawn
      */
     public Rectangle display(Graphics2D g, Vehicle vehicle, double scale) {
+        return display(g, vehicle, scale, 1);
+    }
+
+    /**
+     * Rendering method for vehicles, interpolating the vehicle's pose between its state before
+     * and after its last update
+     *
+     * @param g             The Graphics on which to draw the vehicle
+     * @param vehicle       The vehicle to draw on the image
+     * @param scale         The ratio px/m
+     * @param interpolation The interpolation factor, between 0 (previous state) and 1 (current state)
+     * @return the rectangle object of the car drawn
+     */
+    public Rectangle display(Graphics2D g, Vehicle vehicle, double scale, double interpolation) {
+        // Find the interpolated path and position of the vehicle
+        ItineraryPath path = vehicle.currentPath();
+        double position = vehicle.getPosition();
+        int previousPathStep = vehicle.getPreviousPathStep();
+        double previousPosition = vehicle.getPreviousPosition();
+
+        if (previousPathStep == vehicle.getPathStep()) {
+            position = previousPosition + interpolation * (position - previousPosition);
+        } else if (previousPathStep == vehicle.getPathStep() - 1) {
+            // The vehicle moved to the next path during its last update
+            double previousLength = vehicle.pathAt(previousPathStep).length();
+            position = previousPosition + interpolation * (position + previousLength - previousPosition);
+
+            if (position <= previousLength) {
+                path = vehicle.pathAt(previousPathStep);
+            } else {
+                position -= previousLength;
+            }
+        }
+
         // Add some antialiasing for our eyes
         g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
                 RenderingHints.VALUE_ANTIALIAS_ON);
@@ -44,17 +89,12 @@ public class VehicleRenderer {
 
         int length = Conversions.metersToPixels(scale, vehicle.getLength());
         int width = Conversions.metersToPixels(scale, vehicle.getWidth());
-        int vehiclePosition = Conversions.metersToPixels(scale, vehicle.getPosition());
-        double lateralOffset = -vehicle.currentPath().getRoadSegment().getRoadMapping().laneWidth();
-        RoadMapping roadMapping = vehicle.currentPath().getRoadSegment().getRoadMapping();
-        AngleAndPos angleAndPos = roadMapping.posAt(vehiclePosition, lateralOffset);
-        int x = (int) angleAndPos.getX();
-        int y = (int) angleAndPos.getY();
-        double vehicleRotationAngle = angleAndPos.getAngle();
-
-        // Calculate correct rotation
-        AffineTransform rotation = new AffineTransform();
-        rotation.rotate(vehicleRotationAngle, x + length / 2, y + width / 2);
+        pose(path, position, scale, pose);
+        int x = (int) pose.getX();
+        int y = (int) pose.getY();
+
+        // Rotate along the direction of the road, without computing its angle
+        rotation.setToRotation(pose.getCosTheta(), pose.getSinTheta(), x + length / 2, y + width / 2);
         g.transform(rotation);
 
         // Draw rectangle
@@ -63,6 +103,69 @@ public class VehicleRenderer {
         return new Rectangle(x, y, length, width);
     }
 
+    /**
+     * Rendering method for all the vehicles of a frame snapshot, in a single pass, interpolating
+     * their pose between their state before and after the step captured
+     * <p>
+     * Vehicles are drawn from antialiased sprites, pre-rendered once per size, colour and heading
+     * bin, so drawing a vehicle only costs copying an image. Headings are rounded to the nearest
+     * bin of {@value VehicleSpriteCache#HEADING_BIN_DEGREES}°. Nothing is allocated and no
+     * trigonometric function is evaluated once the sprites are cached.
+     *
+     * @param g             The Graphics of the frame
+     * @param snapshot      The snapshot holding the vehicles
+     * @param interpolation The interpolation factor, between 0 (previous state) and 1 (current state)
+     */
+    public void display(Graphics2D g, FrameSnapshot snapshot, double interpolation) {
+        display(g, snapshot, interpolation, null);
+    }
+
+    /**
+     * Rendering method for the vehicles of a frame snapshot lying in a region of the map, in a
+     * single pass
+     * <p>
+     * Note: vehicles are drawn whole, the Graphics should be clipped to the region
+     *
+     * @param g             The Graphics of the frame
+     * @param snapshot      The snapshot holding the vehicles
+     * @param interpolation The interpolation factor, between 0 (previous state) and 1 (current state)
+     * @param region        The region to draw [px], null to draw every vehicle
+     */
+    public void display(Graphics2D g, FrameSnapshot snapshot, double interpolation, Rectangle region) {
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (region != null && !snapshot.bounds(i, interpolation, bounds).intersects(region)) {
+                continue;
+            }
+
+            int length = snapshot.length(i);
+            int width = snapshot.width(i);
+            int x = (int) snapshot.x(i, interpolation);
+            int y = (int) snapshot.y(i, interpolation);
+
+            sprites.get(length, width, snapshot.color(i), snapshot.cos(i, interpolation),
+                    snapshot.sin(i, interpolation))
+                    .draw(g, x + length / 2, y + width / 2);
+        }
+    }
+
+    /**
+     * Get the position and heading of the top left corner of a vehicle on a path, before its
+     * rotation
+     *
+     * @param path     The path the vehicle is on
+     * @param position The position of the vehicle on the path [m]
+     * @param scale    The ratio px/m
+     * @param out      The pose in which to write the result
+     * @return the pose given, with the position [px] and heading of the vehicle
+     */
+    public AngleAndPos pose(ItineraryPath path, double position, double scale, AngleAndPos out) {
+        RoadMapping roadMapping = path.getRoadSegment().getRoadMapping();
+        double vehiclePosition = Conversions.metersToExactPixels(scale, position);
+        double lateralOffset = -roadMapping.laneWidth();
+
+        return roadMapping.posAt(vehiclePosition, lateralOffset, out);
+    }
+
     /**
      * Get the singleton's instance
      *
@@ -0,0 +1,223 @@
+/*
+ * Filename : VehicleSpriteCache.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.vehicle;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Vehicle sprite cache holds pre-rendered, antialiased images of rotated vehicles, so drawing a
+ * vehicle only costs copying an image
+ * <p>
+ * Sprites are keyed by the size of the vehicle in pixels, its colour and its heading, quantised
+ * in bins of {@value #HEADING_BIN_DEGREES}°. The least recently used sprites are evicted once the
+ * cache is full, for example after the scale or the colours of the controllers changed.
+ */
+class VehicleSpriteCache {
+    // Width of a heading bin [°]
+    static final int HEADING_BIN_DEGREES = 2;
+
+    // Number of heading bins in a full turn
+    static final int HEADING_BINS = 360 / HEADING_BIN_DEGREES;
+
+    // Default maximum number of sprites kept
+    static final int DEFAULT_CAPACITY = 2048;
+
+    // Largest vehicle size representable in a key [px]
+    private static final int MAX_SIZE = 0xFFF;
+
+    // Tangent of the upper boundary of each heading bin of the first octant
+    private static final double[] BIN_TANGENTS = new double[HEADING_BINS / 8 + 2];
+
+    static {
+        for (int bin = 0; bin < BIN_TANGENTS.length; bin++) {
+            BIN_TANGENTS[bin] = Math.tan(Math.toRadians((bin + 0.5) * HEADING_BIN_DEGREES));
+        }
+    }
+
+    // Sprites by key, in access order
+    private final LinkedHashMap<Key, Sprite> sprites;
+
+    // Key reused to look sprites up without allocating
+    private final Key probe = new Key();
+
+    /**
+     * Constructor
+     *
+     * @param capacity the maximum number of sprites kept
+     */
+    VehicleSpriteCache(int capacity) {
+        sprites = new LinkedHashMap<Key, Sprite>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Sprite> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Get the sprite of a vehicle, rendering it if it isn't cached
+     *
+     * @param length the length of the vehicle [px]
+     * @param width  the width of the vehicle [px]
+     * @param color  the colour of the vehicle, as ARGB
+     * @param cos    the cosine of the heading of the vehicle
+     * @param sin    the sine of the heading of the vehicle
+     * @return the sprite
+     */
+    Sprite get(int length, int width, int color, double cos, double sin) {
+        int bin = headingBin(cos, sin);
+        probe.value = key(length, width, color, bin);
+
+        Sprite sprite = sprites.get(probe);
+        if (sprite == null) {
+            Key key = new Key();
+            key.value = probe.value;
+            sprite = new Sprite(length, width, color, bin * Math.toRadians(HEADING_BIN_DEGREES));
+            sprites.put(key, sprite);
+        }
+
+        return sprite;
+    }
+
+    /**
+     * Get the number of sprites cached
+     *
+     * @return the number of sprites
+     */
+    int size() {
+        return sprites.size();
+    }
+
+    /**
+     * Forget every sprite
+     */
+    void clear() {
+        sprites.clear();
+    }
+
+    /**
+     * Get the heading bin of a direction, without computing its angle
+     * <p>
+     * The direction is folded into the first octant, where the bin is found by comparing the
+     * tangent of the direction to the boundaries of the bins, then unfolded.
+     *
+     * @param cos the cosine of the heading
+     * @param sin the sine of the heading
+     * @return the index of the nearest bin, between 0 and HEADING_BINS - 1
+     */
+    static int headingBin(double cos, double sin) {
+        double absCos = Math.abs(cos);
+        double absSin = Math.abs(sin);
+        boolean steep = absSin > absCos;
+        double tangent = steep ? absCos / absSin : absSin / absCos;
+
+        int bin = 0;
+        while (tangent >= BIN_TANGENTS[bin]) {
+            bin++;
+        }
+
+        // Unfold the octant, then the quadrant
+        int quarter = HEADING_BINS / 4;
+        if (steep) {
+            bin = quarter - bin;
+        }
+        if (cos < 0) {
+            bin = 2 * quarter - bin;
+        }
+        if (sin < 0) {
+            bin = HEADING_BINS - bin;
+        }
+
+        return bin % HEADING_BINS;
+    }
+
+    /**
+     * Pack the parameters of a sprite in a key
+     *
+     * @param length the length of the vehicle [px]
+     * @param width  the width of the vehicle [px]
+     * @param color  the colour of the vehicle, as ARGB
+     * @param bin    the heading bin
+     * @return the key
+     */
+    private static long key(int length, int width, int color, int bin) {
+        if (length < 0 || length > MAX_SIZE || width < 0 || width > MAX_SIZE) {
+            throw new IllegalArgumentException("Vehicle too large for a sprite : " + length + "x" + width);
+        }
+
+        return ((long) length << 52) | ((long) width << 40) | ((long) bin << 32) | (color & 0xFFFFFFFFL);
+    }
+
+    /**
+     * The parameters of a sprite packed in a long, mutable so lookups don't box a new key
+     */
+    private static class Key {
+        // The packed parameters
+        private long value;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(value);
+        }
+    }
+
+    /**
+     * A pre-rendered vehicle, whose rotation centre lies at a whole pixel of the image
+     */
+    static class Sprite {
+        // The antialiased image of the rotated vehicle
+        private final BufferedImage image;
+
+        // Rotation centre of the vehicle in the image [px]
+        private final int centerX;
+        private final int centerY;
+
+        /**
+         * Render a vehicle rotated around its centre
+         *
+         * @param length the length of the vehicle [px]
+         * @param width  the width of the vehicle [px]
+         * @param color  the colour of the vehicle, as ARGB
+         * @param angle  the heading of the vehicle [rad]
+         */
+        private Sprite(int length, int width, int color, double angle) {
+            double cos = Math.abs(Math.cos(angle));
+            double sin = Math.abs(Math.sin(angle));
+
+            // Keep a pixel around the vehicle for its antialiased edges
+            centerX = (int) Math.ceil((length * cos + width * sin) / 2) + 1;
+            centerY = (int) Math.ceil((length * sin + width * cos) / 2) + 1;
+            image = new BufferedImage(2 * centerX + 1, 2 * centerY + 1, BufferedImage.TYPE_INT_ARGB_PRE);
+
+            Graphics2D g = image.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                    RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(new Color(color, true));
+            g.rotate(angle, centerX, centerY);
+            g.fillRect(centerX - length / 2, centerY - width / 2, length, width);
+            g.dispose();
+        }
+
+        /**
+         * Draw the sprite
+         *
+         * @param g       the Graphics on which to draw
+         * @param centerX the x coordinate of the rotation centre of the vehicle [px]
+         * @param centerY the y coordinate of the rotation centre of the vehicle [px]
+         */
+        void draw(Graphics2D g, int centerX, int centerY) {
+            g.drawImage(image, centerX - this.centerX, centerY - this.centerY, null);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Filename: VehicleStateStore.java
+ * Creation date: 17.10.2026
+ */
+
+package ch.heigvd.sitr.vehicle;
+
+import ch.heigvd.sitr.model.SimClock;
+import ch.heigvd.sitr.utils.AccelerationNoise;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Vehicle state store keeps the hot kinematic state of vehicles in primitive arrays
+ * <p>
+ * Every vehicle gets an id, which is its index in the arrays. The Vehicle objects are thin views
+ * over their slot, so the update loop can run over contiguous arrays instead of chasing pointers
+ * through the heap.
+ * <p>
+ * Position and speed are double-buffered : a step reads the current buffers, writes the next
+ * ones and then swaps them, so no vehicle sees a partially updated state.
+ * <p>
+ * The neighbourhood of each vehicle (gap, leader speed and relative speed) is cached, stamped
+ * with the version of the store it was computed for. The version changes whenever positions or
+ * speeds change, so the itinerary is walked at most once per vehicle per step.
+ * <p>
+ * Each vehicle gets its own random stream, split from the master stream of the store in
+ * allocation order, so a run can be replayed from the seed of the store.
+ * <p>
+ * When the leader search is enabled, the front vehicles are found again before every step of the
+ * kernel, among all the vehicles of the store whatever their itineraries.
+ */
+public class VehicleStateStore {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Number of vehicles in the store
+    @Getter
+    private int size;
+
+    // Clock giving the simulated time to the vehicles of the store
+    @Getter
+    private final SimClock clock = new SimClock();
+
+    // Bus notifying the listeners of the vehicles of the store
+    @Getter
+    private final VehicleEventBus eventBus = new VehicleEventBus();
+
+    // Master random stream, split into one stream per vehicle
+    private final SplittableRandom masterRandom;
+
+    // Time difference for which the noise factors were computed [s]
+    private double noiseDeltaT = Double.NaN;
+    // Decay factor of the acceleration noise over noiseDeltaT
+    double noiseDecay;
+    // Diffusion factor of the acceleration noise over noiseDeltaT [m/s^2]
+    double noiseDiffusion;
+
+    // Version of the state, changed whenever positions, speeds or itineraries change
+    private long version = 1;
+
+    // Index finding the front vehicles before each step, null if they're set by hand
+    private LeaderIndex leaderIndex;
+
+    // Position of the vehicles relative to their lane's start [m]
+    double[] position;
+    // Position being computed by the current step [m]
+    double[] nextPosition;
+    // Position before the last update [m]
+    double[] previousPosition;
+    // Speed of the vehicles [m/s]
+    double[] speed;
+    // Speed being computed by the current step [m/s]
+    double[] nextSpeed;
+    // Last computed acceleration of the vehicles [m/s^2]
+    double[] acceleration;
+    // Front distance (gap) of the vehicles to their leader [m]
+    double[] frontDistance;
+    // Speed of the leaders of the vehicles [m/s]
+    double[] leaderSpeed;
+    // Relative speed of the vehicles compared to their leader [m/s]
+    double[] relSpeed;
+    // Version of the store for which the neighbourhood of the vehicles was computed
+    long[] neighbourhoodVersion;
+    // Length of the vehicles [m]
+    double[] length;
+    // Max speed of the vehicles [m/s]
+    double[] maxSpeed;
+    // Max acceleration of the vehicles [m/s^2]
+    double[] maxAcceleration;
+    // Length of the vehicles' current path [m]
+    double[] pathLength;
+    // Current path step of the vehicles
+    int[] pathStep;
+    // Path step before the last update
+    int[] previousPathStep;
+    // Have the vehicles finished their itinerary
+    boolean[] finished;
+    // Acceleration noise of the vehicles [m/s^2]
+    double[] noise;
+    // Uniform samples drawn for the current noise update
+    double[] noiseSample;
+    // Random stream of each vehicle
+    SplittableRandom[] random;
+    // Controllers of the vehicles
+    VehicleController[] controller;
+    // Vehicles viewing each slot
+    Vehicle[] vehicles;
+
+    /**
+     * Constructor
+     */
+    public VehicleStateStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param capacity The number of vehicles the store can hold before growing
+     */
+    public VehicleStateStore(int capacity) {
+        this(capacity, new SplittableRandom());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param capacity The number of vehicles the store can hold before growing
+     * @param seed     The seed of the master random stream
+     */
+    public VehicleStateStore(int capacity, long seed) {
+        this(capacity, new SplittableRandom(seed));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param capacity     The number of vehicles the store can hold before growing
+     * @param masterRandom The master random stream
+     */
+    private VehicleStateStore(int capacity, SplittableRandom masterRandom) {
+        capacity = Math.max(capacity, 1);
+        this.masterRandom = masterRandom;
+
+        position = new double[capacity];
+        nextPosition = new double[capacity];
+        previousPosition = new double[capacity];
+        speed = new double[capacity];
+        nextSpeed = new double[capacity];
+        acceleration = new double[capacity];
+        frontDistance = new double[capacity];
+        leaderSpeed = new double[capacity];
+        relSpeed = new double[capacity];
+        neighbourhoodVersion = new long[capacity];
+        length = new double[capacity];
+        maxSpeed = new double[capacity];
+        maxAcceleration = new double[capacity];
+        pathLength = new double[capacity];
+        pathStep = new int[capacity];
+        previousPathStep = new int[capacity];
+        finished = new boolean[capacity];
+        noise = new double[capacity];
+        noiseSample = new double[capacity];
+        random = new SplittableRandom[capacity];
+        controller = new VehicleController[capacity];
+        vehicles = new Vehicle[capacity];
+    }
+
+    /**
+     * Allocate a slot for a vehicle, growing the arrays if needed
+     *
+     * @param vehicle The vehicle viewing the slot
+     * @return the id of the slot
+     */
+    int allocate(Vehicle vehicle) {
+        if (size == vehicles.length) {
+            grow(2 * size);
+        }
+
+        vehicles[size] = vehicle;
+        random[size] = masterRandom.split();
+        return size++;
+    }
+
+    /**
+     * Compute the noise factors for a time difference, unless they're already known
+     * <p>
+     * Note: must be called before noise updates run concurrently
+     *
+     * @param deltaT The time difference [s]
+     */
+    void prepareNoise(double deltaT) {
+        if (deltaT != noiseDeltaT) {
+            noiseDeltaT = deltaT;
+            noiseDecay = AccelerationNoise.decay(deltaT);
+            noiseDiffusion = AccelerationNoise.diffusion(deltaT);
+        }
+    }
+
+    /**
+     * Find the front vehicles of the vehicles of the store before each step of the kernel,
+     * instead of keeping the ones set by hand
+     */
+    public void enableLeaderSearch() {
+        if (leaderIndex == null) {
+            leaderIndex = new LeaderIndex();
+        }
+    }
+
+    /**
+     * Get the index finding the front vehicles
+     *
+     * @return the leader index, or null if the leader search isn't enabled
+     */
+    LeaderIndex getLeaderIndex() {
+        return leaderIndex;
+    }
+
+    /**
+     * Get the vehicle viewing the given slot
+     *
+     * @param id The id of the slot
+     * @return the vehicle
+     */
+    public Vehicle vehicle(int id) {
+        return vehicles[id];
+    }
+
+    /**
+     * Swap the current and next buffers, making the state computed by a step the current one
+     */
+    void swap() {
+        double[] tmp = position;
+        position = nextPosition;
+        nextPosition = tmp;
+
+        tmp = speed;
+        speed = nextSpeed;
+        nextSpeed = tmp;
+
+        invalidate();
+    }
+
+    /**
+     * Invalidate the cached neighbourhoods after a change of the state
+     */
+    void invalidate() {
+        version++;
+    }
+
+    /**
+     * Is the cached neighbourhood of a vehicle still valid
+     *
+     * @param id The id of the vehicle
+     * @return true if the neighbourhood was computed for the current state
+     */
+    boolean isNeighbourhoodValid(int id) {
+        return neighbourhoodVersion[id] == version;
+    }
+
+    /**
+     * Mark the cached neighbourhood of a vehicle as computed for the current state
+     *
+     * @param id The id of the vehicle
+     */
+    void validateNeighbourhood(int id) {
+        neighbourhoodVersion[id] = version;
+    }
+
+    /**
+     * Grow the arrays to the given capacity
+     *
+     * @param capacity The new capacity
+     */
+    private void grow(int capacity) {
+        position = Arrays.copyOf(position, capacity);
+        nextPosition = Arrays.copyOf(nextPosition, capacity);
+        previousPosition = Arrays.copyOf(previousPosition, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        nextSpeed = Arrays.copyOf(nextSpeed, capacity);
+        acceleration = Arrays.copyOf(acceleration, capacity);
+        frontDistance = Arrays.copyOf(frontDistance, capacity);
+        leaderSpeed = Arrays.copyOf(leaderSpeed, capacity);
+        relSpeed = Arrays.copyOf(relSpeed, capacity);
+        neighbourhoodVersion = Arrays.copyOf(neighbourhoodVersion, capacity);
+        length = Arrays.copyOf(length, capacity);
+        maxSpeed = Arrays.copyOf(maxSpeed, capacity);
+        maxAcceleration = Arrays.copyOf(maxAcceleration, capacity);
+        pathLength = Arrays.copyOf(pathLength, capacity);
+        pathStep = Arrays.copyOf(pathStep, capacity);
+        previousPathStep = Arrays.copyOf(previousPathStep, capacity);
+        finished = Arrays.copyOf(finished, capacity);
+        noise = Arrays.copyOf(noise, capacity);
+        noiseSample = Arrays.copyOf(noiseSample, capacity);
+        random = Arrays.copyOf(random, capacity);
+        controller = Arrays.copyOf(controller, capacity);
+        vehicles = Arrays.copyOf(vehicles, capacity);
+    }
+}
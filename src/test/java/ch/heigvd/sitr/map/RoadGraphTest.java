@@ -0,0 +1,116 @@
+/*
+ * Filename : RoadGraphTest.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.map;
+
+import ch.heigvd.sitr.map.input.OpenDriveHandler;
+import ch.heigvd.sitr.model.Scenario;
+import ch.heigvd.sitr.model.Simulation;
+import ch.heigvd.sitr.model.VehicleBehaviour;
+import ch.heigvd.sitr.model.VehicleControllerType;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.transform.stream.StreamSource;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the road graph
+ */
+public class RoadGraphTest {
+    @Test
+    public void graphShouldStoreSortedRowsWithoutDuplicates() {
+        int[] from = {2, 0, 0, 1, 0, 3};
+        int[] to = {3, 2, 1, 3, 2, 0};
+        boolean[] junction = {false, false, false, true, true, false};
+        RoadGraph graph = new RoadGraph(4, from, to, junction, from.length);
+
+        assertEquals(4, graph.segmentCount());
+        assertEquals(5, graph.edgeCount());
+
+        assertEquals(2, graph.successorCount(0));
+        assertEquals(1, graph.successor(graph.firstSuccessor(0)));
+        assertEquals(2, graph.successor(graph.firstSuccessor(0) + 1));
+        // The duplicate edge 0 -> 2 is merged, keeping its junction flag
+        assertTrue(graph.isJunction(graph.firstSuccessor(0) + 1));
+        assertFalse(graph.isJunction(graph.firstSuccessor(0)));
+
+        assertEquals(2, graph.predecessorCount(3));
+        assertEquals(1, graph.predecessor(graph.firstPredecessor(3)));
+        assertEquals(2, graph.predecessor(graph.firstPredecessor(3) + 1));
+        assertEquals(1, graph.predecessorCount(0));
+
+        assertTrue(graph.hasEdge(3, 0));
+        assertFalse(graph.hasEdge(0, 3));
+    }
+
+    @Test
+    public void graphShouldRejectUnknownSegments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RoadGraph(2, new int[]{0}, new int[]{2}, new boolean[]{false}, 1));
+    }
+
+    @Test
+    public void networkWithoutLinksShouldHaveAnEmptyGraph() {
+        RoadNetwork roadNetwork = new RoadNetwork();
+        roadNetwork.add(new RoadSegment(10, 1));
+        roadNetwork.add(new RoadSegment(30, 1));
+
+        assertEquals(1, roadNetwork.get(1).getIndex());
+        assertEquals(2, roadNetwork.getGraph().segmentCount());
+        assertEquals(0, roadNetwork.getGraph().edgeCount());
+    }
+
+    @Test
+    public void openDriveLinksShouldBuildTheGraph() {
+        HashMap<VehicleControllerType, Integer> controllers = new HashMap<>();
+        controllers.put(VehicleControllerType.AUTONOMOUS, 1);
+
+        RoadNetwork simpleRoad = new Simulation(Scenario.SIMPLE_ROAD, VehicleBehaviour.LOOP, controllers).getRoadNetwork();
+        RoadGraph graph = simpleRoad.getGraph();
+        // The link is given by both roads, only once in the graph
+        assertEquals(1, graph.edgeCount());
+        assertTrue(graph.hasEdge(0, 1));
+
+        RoadNetwork ringRoad = new Simulation(Scenario.RING_ROAD, VehicleBehaviour.LOOP, controllers).getRoadNetwork();
+        assertTrue(ringRoad.getGraph().hasEdge(0, 0));
+    }
+
+    @Test
+    public void linksWhichCantBeDrivenForwardShouldBeIgnored() {
+        RoadNetwork eight = new RoadNetwork();
+        OpenDriveHandler.loadRoadNetwork(eight, new StreamSource(
+                getClass().getResourceAsStream("/map/simulation/eight.xodr")));
+        RoadGraph graph = eight.getGraph();
+
+        // Each road links its end to the start of the next one
+        assertTrue(hasEdge(eight, "1", "2"));
+        assertTrue(hasEdge(eight, "4", "1"));
+        // R2 and R3 join their ends, as do R3 and R4, even though R3 and R4 say otherwise
+        assertFalse(hasEdge(eight, "2", "3"));
+        assertFalse(hasEdge(eight, "3", "4"));
+        // The junction connections are entered by the start of R2
+        assertTrue(hasEdge(eight, "3", "2"));
+        assertTrue(hasEdge(eight, "4", "2"));
+        assertEquals(eight.size(), graph.segmentCount());
+    }
+
+    /**
+     * Is there an edge from a segment of a road to a segment of another road
+     */
+    private static boolean hasEdge(RoadNetwork roadNetwork, String fromRoadId, String toRoadId) {
+        for (RoadSegment from : roadNetwork) {
+            for (RoadSegment to : roadNetwork) {
+                if (from.getUserId().equals(fromRoadId) && to.getUserId().equals(toRoadId)
+                        && roadNetwork.getGraph().hasEdge(from.getIndex(), to.getIndex())) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+}
@@ -1,4 +1,37 @@
 package ch.heigvd.sitr.map;
 
+import ch.heigvd.sitr.map.roadmappings.LaneGeometries;
+import ch.heigvd.sitr.map.roadmappings.RoadMappingLine;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 public class RoadNetworkTest {
+    @Test
+    public void addShouldComputeLengthInMeters() {
+        RoadNetwork roadNetwork = new RoadNetwork(8);
+        RoadSegment roadSegment = roadNetwork.add(new RoadSegment(100.5, 1,
+                new RoadMappingLine(new LaneGeometries(), 0, 0, 0, 0, 100.5)));
+
+        // No truncation of the length in pixels
+        assertEquals(12.5625, roadSegment.getLengthInMeters());
+    }
+
+    @Test
+    public void lengthInMetersShouldSumAllRoadSegments() {
+        RoadNetwork roadNetwork = new RoadNetwork(2);
+        roadNetwork.add(new RoadSegment(10, 1));
+        roadNetwork.add(new RoadSegment(30, 1));
+
+        assertEquals(20, roadNetwork.lengthInMeters());
+    }
+
+    @Test
+    public void lengthInMetersShouldBeUnknownOutsideARoadNetwork() {
+        RoadSegment roadSegment = new RoadSegment(10, 1);
+        assertThrows(IllegalStateException.class, roadSegment::getLengthInMeters);
+
+        new RoadNetwork(2).add(roadSegment);
+        assertEquals(5, roadSegment.getLengthInMeters());
+    }
 }
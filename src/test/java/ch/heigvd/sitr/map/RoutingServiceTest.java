@@ -0,0 +1,175 @@
+/*
+ * Filename : RoutingServiceTest.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the routing service
+ */
+public class RoutingServiceTest {
+    @Test
+    public void routeShouldTakeTheShorterBranch() {
+        // 0 forks into a long road 1 and a short road 2, joining again into 3
+        RoadNetwork roadNetwork = network(new double[]{10, 100, 20, 10},
+                new int[]{0, 0, 1, 2}, new int[]{1, 2, 3, 3});
+        RoutingService routing = new RoutingService(roadNetwork);
+
+        int[] route = routing.route(0, 3);
+        assertArrayEquals(new int[]{0, 2, 3}, route);
+        assertEquals(30, routing.length(route), 1e-9);
+    }
+
+    @Test
+    public void fastestRouteShouldTakeTheQuickerBranch() {
+        // The long road 1 is a motorway, the short road 2 a village street
+        RoadNetwork roadNetwork = network(new double[]{10, 100, 20, 10},
+                new int[]{0, 0, 1, 2}, new int[]{1, 2, 3, 3});
+        roadNetwork.get(1).setSpeedLimit(30);
+        roadNetwork.get(2).setSpeedLimit(2);
+        RoutingService routing = new RoutingService(roadNetwork, RoutingService.Cost.TRAVEL_TIME);
+
+        int[] route = routing.route(0, 3);
+        assertArrayEquals(new int[]{0, 1, 3}, route);
+        assertEquals(110, routing.length(route), 1e-9);
+        assertEquals(100.0 / 30 + 10 / RoutingService.DEFAULT_SPEED, routing.cost(route), 1e-9);
+
+        // Without speed limits, the fastest route is the shortest one
+        roadNetwork.get(1).setSpeedLimit(Double.NaN);
+        roadNetwork.get(2).setSpeedLimit(Double.NaN);
+        assertArrayEquals(new int[]{0, 2, 3},
+                new RoutingService(roadNetwork, RoutingService.Cost.TRAVEL_TIME).route(0, 3));
+    }
+
+    @Test
+    public void routeToItselfShouldOnlyHoldTheOrigin() {
+        RoadNetwork roadNetwork = network(new double[]{10, 20}, new int[]{0}, new int[]{1});
+
+        assertArrayEquals(new int[]{1}, new RoutingService(roadNetwork).route(1, 1));
+    }
+
+    @Test
+    public void unreachableDestinationShouldHaveNoRoute() {
+        RoadNetwork roadNetwork = network(new double[]{10, 20, 30}, new int[]{0}, new int[]{1});
+        RoutingService routing = new RoutingService(roadNetwork);
+
+        assertNull(routing.route(1, 0));
+        assertNull(routing.route(0, 2));
+        // Failures are cached too
+        assertNull(routing.route(1, 0));
+        assertEquals(2, routing.getSearchCount());
+    }
+
+    @Test
+    public void routesShouldBeCachedAndLeastRecentlyUsedEvicted() {
+        RoadNetwork roadNetwork = network(new double[]{10, 20, 30},
+                new int[]{0, 1}, new int[]{1, 2});
+        RoutingService routing = new RoutingService(roadNetwork, RoutingService.Cost.DISTANCE, 2, 2);
+
+        int[] first = routing.route(0, 2);
+        assertSame(first, routing.route(0, 2));
+        assertEquals(1, routing.getSearchCount());
+
+        routing.route(0, 1);
+        // Use the first route again, so 0 -> 1 is the eldest
+        routing.route(0, 2);
+        routing.route(1, 2);
+        assertEquals(3, routing.getSearchCount());
+
+        assertSame(first, routing.route(0, 2));
+        routing.route(0, 1);
+        assertEquals(4, routing.getSearchCount());
+    }
+
+    @Test
+    public void routesShouldBeAsShortAsDijkstra() {
+        Random random = new Random(42);
+        int n = 200;
+        int edges = 600;
+        double[] lengths = new double[n];
+        for (int i = 0; i < n; i++) {
+            lengths[i] = 1 + random.nextInt(100);
+        }
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        for (int e = 0; e < edges; e++) {
+            from[e] = random.nextInt(n);
+            to[e] = random.nextInt(n);
+        }
+
+        RoadNetwork roadNetwork = network(lengths, from, to);
+        RoutingService routing = new RoutingService(roadNetwork);
+        RoadGraph graph = roadNetwork.getGraph();
+
+        for (int query = 0; query < 50; query++) {
+            int origin = random.nextInt(n);
+            double[] expected = dijkstra(graph, lengths, origin);
+            for (int destination = 0; destination < n; destination += 7) {
+                int[] route = routing.route(origin, destination);
+                if (Double.isInfinite(expected[destination])) {
+                    assertNull(route);
+                    continue;
+                }
+
+                assertNotNull(route);
+                assertEquals(origin, route[0]);
+                assertEquals(destination, route[route.length - 1]);
+                for (int i = 1; i < route.length; i++) {
+                    assertTrue(graph.hasEdge(route[i - 1], route[i]));
+                }
+                assertEquals(expected[destination], routing.length(route), 1e-9);
+            }
+        }
+    }
+
+    /**
+     * Build a road network of segments of the given lengths, linked by the given edges
+     */
+    private static RoadNetwork network(double[] lengths, int[] from, int[] to) {
+        RoadNetwork roadNetwork = new RoadNetwork();
+        for (double length : lengths) {
+            roadNetwork.add(new RoadSegment(length, 1));
+        }
+        roadNetwork.setGraph(new RoadGraph(lengths.length, from, to, new boolean[from.length], from.length));
+        return roadNetwork;
+    }
+
+    /**
+     * Compute the distances from a segment by plain Dijkstra, without a heap
+     */
+    private static double[] dijkstra(RoadGraph graph, double[] lengths, int source) {
+        int n = lengths.length;
+        double[] distance = new double[n];
+        boolean[] done = new boolean[n];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        distance[source] = 0;
+
+        for (int round = 0; round < n; round++) {
+            int closest = -1;
+            for (int i = 0; i < n; i++) {
+                if (!done[i] && (closest < 0 || distance[i] < distance[closest])) {
+                    closest = i;
+                }
+            }
+            if (Double.isInfinite(distance[closest])) {
+                break;
+            }
+
+            done[closest] = true;
+            for (int e = graph.firstSuccessor(closest); e < graph.endSuccessor(closest); e++) {
+                int next = graph.successor(e);
+                distance[next] = Math.min(distance[next], distance[closest] + lengths[next]);
+            }
+        }
+
+        return distance;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Filename : RoadMappingPolyTest.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.map.roadmappings;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the composite road mapping and the tabulated geometries
+ */
+class RoadMappingPolyTest {
+    private static final double EPSILON = 1e-6;
+
+    @Test
+    public void polyShouldChainItsMappings() {
+        LaneGeometries laneGeometries = new LaneGeometries();
+        RoadMappingPoly poly = new RoadMappingPoly(laneGeometries, Arrays.asList(
+                new RoadMappingLine(laneGeometries, 0, 0, 0, 0, 10),
+                new RoadMappingLine(laneGeometries, 10, 10, 0, Math.PI / 2, 20),
+                new RoadMappingLine(laneGeometries, 30, 10, 20, 0, 5)));
+
+        assertEquals(35, poly.getRoadLength(), EPSILON);
+        assertEquals(0, poly.mappingAt(-1));
+        assertEquals(0, poly.mappingAt(9.9));
+        assertEquals(1, poly.mappingAt(10));
+        assertEquals(2, poly.mappingAt(100));
+
+        AngleAndPos pos = poly.posAt(15, 0);
+        assertEquals(10, pos.getX(), EPSILON);
+        assertEquals(5, pos.getY(), EPSILON);
+        assertEquals(Math.PI / 2, pos.getAngle(), EPSILON);
+
+        pos = poly.posAt(32, 0);
+        assertEquals(12, pos.getX(), EPSILON);
+        assertEquals(20, pos.getY(), EPSILON);
+    }
+
+    @Test
+    public void spiralWithoutCurvatureShouldBeALine() {
+        RoadMappingSpiral spiral = new RoadMappingSpiral(new LaneGeometries(), 1, 2, 0.3, 50, 0, 0);
+        RoadMappingLine line = new RoadMappingLine(new LaneGeometries(), 0, 1, 2, 0.3, 50);
+
+        for (double s = 0; s <= 50; s += 3.7) {
+            AngleAndPos expected = line.posAt(s, 2);
+            AngleAndPos actual = spiral.posAt(s, 2);
+            assertEquals(expected.getX(), actual.getX(), EPSILON);
+            assertEquals(expected.getY(), actual.getY(), EPSILON);
+        }
+    }
+
+    @Test
+    public void spiralWithConstantCurvatureShouldBeACircle() {
+        double radius = 20;
+        RoadMappingSpiral spiral = new RoadMappingSpiral(new LaneGeometries(), 0, 0, 0, 40, 1 / radius, 1 / radius);
+
+        for (double s = 0; s <= 40; s += 2.3) {
+            AngleAndPos pos = spiral.posAt(s, 0);
+            double angle = s / radius;
+            assertEquals(radius * Math.sin(angle), pos.getX(), 1e-4);
+            assertEquals(radius * (1 - Math.cos(angle)), pos.getY(), 1e-4);
+            assertEquals(angle, pos.getAngle(), 1e-4);
+        }
+    }
+
+    @Test
+    public void spiralShouldFollowTheClothoid() {
+        // Curvature growing from 0 to 0.1 over 30 m, so the heading is s² / 600
+        RoadMappingSpiral spiral = new RoadMappingSpiral(new LaneGeometries(), 0, 0, 0, 30, 0, 0.1);
+
+        AngleAndPos end = spiral.endPos(0);
+        assertEquals(1.5, end.getAngle(), 1e-6);
+
+        // Reference value of the Fresnel integrals, integrated finely
+        double x = 0;
+        double y = 0;
+        int steps = 100000;
+        for (int i = 0; i < steps; i++) {
+            double s = (i + 0.5) * 30.0 / steps;
+            x += Math.cos(s * s / 600) * 30.0 / steps;
+            y += Math.sin(s * s / 600) * 30.0 / steps;
+        }
+        assertEquals(x, end.getX(), 1e-4);
+        assertEquals(y, end.getY(), 1e-4);
+    }
+
+    @Test
+    public void flatPoly3ShouldBeALine() {
+        RoadMappingPoly3 poly3 = new RoadMappingPoly3(new LaneGeometries(), 1, 2, 0.3, 50, 0, 0, 0, 0);
+        RoadMappingLine line = new RoadMappingLine(new LaneGeometries(), 0, 1, 2, 0.3, 50);
+
+        assertEquals(50, poly3.getRoadLength(), EPSILON);
+        for (double s = 0; s <= 50; s += 3.7) {
+            AngleAndPos expected = line.posAt(s, -1);
+            AngleAndPos actual = poly3.posAt(s, -1);
+            assertEquals(expected.getX(), actual.getX(), EPSILON);
+            assertEquals(expected.getY(), actual.getY(), EPSILON);
+        }
+    }
+
+    @Test
+    public void poly3ShouldFollowThePolynomial() {
+        RoadMappingPoly3 poly3 = new RoadMappingPoly3(new LaneGeometries(), 0, 0, 0, 25, 0, 0.1, 0.01, 0);
+
+        AngleAndPos end = poly3.endPos(0);
+        // The point reached lies on the polynomial, with its slope as heading
+        double u = end.getX();
+        assertEquals(0.1 * u + 0.01 * u * u, end.getY(), 1e-4);
+        assertEquals(Math.atan(0.1 + 0.02 * u), end.getAngle(), 1e-4);
+    }
+
+    @Test
+    public void tabulatedMappingShouldStayCloseToTheGeometry() {
+        RoadMappingSpiral spiral = new RoadMappingSpiral(new LaneGeometries(), 3, 4, 0.2, 60, 0.01, 0.05);
+        AngleAndPos[] exact = new AngleAndPos[60];
+        for (int s = 0; s < 60; s++) {
+            AngleAndPos pos = spiral.posAt(s + 0.5, 2);
+            exact[s] = new AngleAndPos();
+            exact[s].x = pos.x;
+            exact[s].y = pos.y;
+            exact[s].cosTheta = pos.cosTheta;
+            exact[s].sinTheta = pos.sinTheta;
+        }
+
+        spiral.tabulate(1.0);
+        assertTrue(spiral.isTabulated());
+        for (int s = 0; s < 60; s++) {
+            AngleAndPos pos = spiral.posAt(s + 0.5, 2);
+            // Curvature of at most 0.05, sampled every unit
+            assertEquals(exact[s].getX(), pos.getX(), 0.05 / 8 + 1e-9);
+            assertEquals(exact[s].getY(), pos.getY(), 0.05 / 8 + 1e-9);
+            assertEquals(exact[s].getAngle(), pos.getAngle(), 1e-3);
+        }
+    }
+
+    @Test
+    public void tabulatedPolyShouldTabulateEachMapping() {
+        LaneGeometries laneGeometries = new LaneGeometries();
+        RoadMapping line = new RoadMappingLine(laneGeometries, 0, 0, 0, 0, 10);
+        RoadMapping arc = new RoadMappingArc(laneGeometries, 10, 0, 0, 15, 0.05);
+        RoadMappingPoly poly = new RoadMappingPoly(laneGeometries, Arrays.asList(line, arc));
+
+        double x = poly.posAt(17, -5).getX();
+        double y = poly.posAt(17, -5).getY();
+        poly.tabulate(0.5);
+
+        assertTrue(line.isTabulated());
+        assertTrue(arc.isTabulated());
+        assertTrue(poly.isTabulated());
+        assertEquals(x, poly.posAt(17, -5).getX(), 0.05 * 0.25 / 8 + 1e-9);
+        assertEquals(y, poly.posAt(17, -5).getY(), 0.05 * 0.25 / 8 + 1e-9);
+    }
+
+    @Test
+    public void posAtShouldWriteIntoTheGivenPosition() {
+        RoadMapping arc = new RoadMappingArc(new LaneGeometries(), 10, 0, 0, 15, 0.05);
+        AngleAndPos expected = arc.posAt(7, 0);
+        double x = expected.getX();
+        double y = expected.getY();
+        double cos = expected.getCosTheta();
+        double sin = expected.getSinTheta();
+
+        AngleAndPos out = new AngleAndPos();
+        assertSame(out, arc.posAt(7, 0, out));
+        assertEquals(x, out.getX(), EPSILON);
+        assertEquals(y, out.getY(), EPSILON);
+        assertEquals(cos, out.getCosTheta(), EPSILON);
+        assertEquals(sin, out.getSinTheta(), EPSILON);
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Filename : SimClockTest.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SimClock class
+ */
+class SimClockTest {
+    @Test
+    public void clockShouldStartAt0() {
+        assertEquals(0, new SimClock().getTime());
+    }
+
+    @Test
+    public void advanceShouldAddTheStepDuration() {
+        SimClock clock = new SimClock();
+        clock.advance(0.12);
+        clock.advance(0.5);
+        assertEquals(0.62, clock.getTime(), 1e-12);
+    }
+}
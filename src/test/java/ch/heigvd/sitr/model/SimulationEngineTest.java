@@ -0,0 +1,199 @@
+/*
+ * Filename : SimulationEngineTest.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.model;
+
+import ch.heigvd.sitr.map.RoadSegment;
+import ch.heigvd.sitr.map.roadmappings.AngleAndPos;
+import ch.heigvd.sitr.map.roadmappings.LaneGeometries;
+import ch.heigvd.sitr.map.roadmappings.RoadMappingLine;
+import ch.heigvd.sitr.vehicle.ItineraryPath;
+import ch.heigvd.sitr.vehicle.Vehicle;
+import ch.heigvd.sitr.vehicle.VehicleController;
+import ch.heigvd.sitr.vehicle.VehicleRenderer;
+import ch.heigvd.sitr.vehicle.VehicleStateStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.geom.Point2D;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SimulationEngine class
+ */
+class SimulationEngineTest {
+    private SimulationEngine engine;
+
+    @BeforeEach
+    public void instantiateTestEngine() {
+        HashMap<VehicleControllerType, Integer> map = new HashMap<>();
+        map.put(VehicleControllerType.CAREFUL, 6);
+        map.put(VehicleControllerType.AUTONOMOUS, 2);
+
+        engine = new Simulation(Scenario.SIMPLE_ROAD, VehicleBehaviour.LOOP, map).getEngine();
+    }
+
+    @Test
+    public void stepShouldAdvanceSimulatedTime() {
+        engine.step(10);
+        assertEquals(10, engine.getStepCount());
+        assertEquals(10 * engine.getDeltaT(), engine.getSimulatedTime(), 1e-9);
+    }
+
+    @Test
+    public void runForShouldComputeEnoughSteps() {
+        int steps = engine.runFor(60);
+        assertEquals(500, steps);
+        assertEquals(60, engine.getSimulatedTime(), 1e-9);
+    }
+
+    @Test
+    public void stepShouldMoveVehicles() {
+        engine.runFor(10);
+        assertTrue(engine.getVehicles().stream().anyMatch(v -> v.getSpeed() > 0));
+    }
+
+    @Test
+    public void interpolationShouldStayBetweenPreviousAndCurrentState() {
+        engine.enableSnapshots(Scenario.SIMPLE_ROAD.getScale());
+        engine.step(10);
+        engine.latestSnapshot();
+        engine.step();
+        FrameSnapshot snapshot = engine.latestSnapshot();
+        AngleAndPos pose = new AngleAndPos();
+
+        int moving = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            Vehicle vehicle = snapshot.vehicle(i);
+            if (vehicle.getPreviousPathStep() != vehicle.getPathStep()) {
+                continue;
+            }
+
+            // The roads are straight, so the pose halfway is the one of the position halfway
+            double halfway = (vehicle.getPreviousPosition() + vehicle.getPosition()) / 2;
+            VehicleRenderer.getInstance().pose(vehicle.currentPath(), halfway,
+                    Scenario.SIMPLE_ROAD.getScale(), pose);
+            assertEquals(pose.getX(), snapshot.x(i, 0.5), 1e-6);
+            assertEquals(pose.getY(), snapshot.y(i, 0.5), 1e-6);
+
+            // The interpolated position lies between the poses before and after the step
+            double x = snapshot.x(i, 0.25);
+            assertTrue(x >= Math.min(snapshot.x(i, 0), snapshot.x(i, 1)) - 1e-9
+                    && x <= Math.max(snapshot.x(i, 0), snapshot.x(i, 1)) + 1e-9);
+            if (snapshot.x(i, 0) != snapshot.x(i, 1)) {
+                moving++;
+            }
+        }
+        assertTrue(moving > 0);
+
+        double interpolation = engine.interpolation(snapshot);
+        assertTrue(interpolation >= 0 && interpolation <= 1);
+    }
+
+    @Test
+    public void startShouldStepOnItsOwnThread() throws InterruptedException {
+        engine.start();
+        Thread.sleep(100);
+        engine.stop();
+        assertTrue(engine.getStepCount() > 0);
+        assertFalse(engine.isRunning());
+    }
+
+    @Test
+    public void timeWarpShouldBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> engine.setTimeWarp(0));
+    }
+
+    @Test
+    public void modeShouldNotChangeDeltaT() {
+        double deltaT = engine.getDeltaT();
+        engine.setExecutionMode(ExecutionMode.UNTHROTTLED);
+        assertEquals(deltaT, engine.getDeltaT());
+        assertEquals(Double.POSITIVE_INFINITY, engine.targetFactor());
+    }
+
+    @Test
+    public void stepShouldAdvanceTheSharedClock() {
+        engine.step(5);
+        assertEquals(5 * engine.getDeltaT(), engine.getClock().getTime(), 1e-9);
+        assertSame(engine.getClock(), engine.getStore().getClock());
+    }
+
+    @Test
+    public void waitingTimeShouldBeMeasuredInSimulatedTime() throws InterruptedException {
+        RoadSegment roadSegment = new RoadSegment(1000, 1,
+                new RoadMappingLine(new LaneGeometries(), 0, 0, 0, 0, 1000));
+        LinkedList<ItineraryPath> itinerary = new LinkedList<>();
+        itinerary.add(new ItineraryPath(roadSegment, 1));
+
+        // A vehicle which can't move waits from its first step on
+        VehicleStateStore store = new VehicleStateStore();
+        Vehicle stopped = new Vehicle(new VehicleController(33.33, 2, 1.5, 0.3, 3, false),
+                1.6, 1, 0, 2.5, itinerary, store);
+        SimulationEngine stoppedEngine = new SimulationEngine(store, Collections.singletonList(stopped),
+                VehicleBehaviour.LOOP, 0.5);
+
+        stoppedEngine.step(4);
+        // Wall-clock time spent between steps doesn't count
+        Thread.sleep(50);
+        stoppedEngine.step(6);
+
+        assertEquals(0, stopped.getSpeed());
+        assertEquals(5, stoppedEngine.getClock().getTime(), 1e-9);
+        assertEquals(4.5, stopped.getWaitingTime(), 1e-9);
+    }
+
+    @Test
+    public void snapshotsShouldBeNullUntilEnabled() {
+        assertNull(engine.latestSnapshot());
+    }
+
+    @Test
+    public void snapshotShouldCaptureEveryRunningVehicle() {
+        engine.enableSnapshots(Scenario.SIMPLE_ROAD.getScale());
+        FrameSnapshot snapshot = engine.latestSnapshot();
+
+        assertEquals(engine.getVehicles().size(), snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertEquals(i, snapshot.indexOf(snapshot.vehicle(i)));
+            assertEquals(snapshot.vehicle(i).getSpeed(), snapshot.speed(i));
+        }
+    }
+
+    @Test
+    public void snapshotShouldHoldTheLatestStep() {
+        engine.enableSnapshots(Scenario.SIMPLE_ROAD.getScale());
+        engine.step(10);
+
+        // Steps are published even when the GUI didn't pick up the previous snapshot
+        FrameSnapshot snapshot = engine.latestSnapshot();
+        assertEquals(10 * engine.getDeltaT(), snapshot.getSimulatedTime(), 1e-9);
+
+        engine.step();
+        snapshot = engine.latestSnapshot();
+        assertEquals(11 * engine.getDeltaT(), snapshot.getSimulatedTime(), 1e-9);
+
+        // Nothing new was published, the GUI keeps the same snapshot
+        assertSame(snapshot, engine.latestSnapshot());
+    }
+
+    @Test
+    public void snapshotHitShouldFindTheVehicleAtItsCenter() {
+        engine.enableSnapshots(Scenario.SIMPLE_ROAD.getScale());
+        engine.step(10);
+        FrameSnapshot snapshot = engine.latestSnapshot();
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            Point2D.Double center = snapshot.center(i, 0.5);
+            int hit = snapshot.hit(center.x, center.y, 0.5);
+            assertSame(snapshot.vehicle(i), snapshot.vehicle(hit));
+        }
+        assertEquals(-1, snapshot.hit(-100, -100, 0.5));
+    }
+}
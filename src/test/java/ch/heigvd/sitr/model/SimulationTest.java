@@ -5,10 +5,14 @@
 
 package ch.heigvd.sitr.model;
 
+import ch.heigvd.sitr.vehicle.Vehicle;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -40,8 +44,48 @@ class SimulationTest {
         assertNotNull(simulation.getVehicles());
     }
 
+    @Test
+    public void sameSeedShouldReplayTheSameRun() {
+        HashMap<VehicleControllerType, Integer> map = new HashMap<>();
+        map.put(VehicleControllerType.CAREFUL, 12);
+        map.put(VehicleControllerType.AUTONOMOUS, 4);
+        Simulation first = new Simulation(Scenario.SIMPLE_ROAD, VehicleBehaviour.LOOP, map, 42);
+        Simulation replay = new Simulation(Scenario.SIMPLE_ROAD, VehicleBehaviour.LOOP, map, 42);
+        assertEquals(42, first.getSeed());
+
+        first.getEngine().step(500);
+        replay.getEngine().step(500);
+
+        for (int i = 0; i < first.getVehicles().size(); i++) {
+            Vehicle vehicle = first.getVehicles().get(i);
+            Vehicle replayedVehicle = replay.getVehicles().get(i);
+            assertEquals(vehicle.getId(), replayedVehicle.getId());
+            assertEquals(vehicle.getPosition(), replayedVehicle.getPosition());
+            assertEquals(vehicle.getSpeed(), replayedVehicle.getSpeed());
+        }
+    }
+
     @Test
     public void listOfVehiclesShouldHaveCorrectNbrOfVehicles() {
         assertEquals(simulation.getVehicles().size(), 16);
     }
+
+    @Test
+    public void vehiclesShouldFollowTheNearestVehicleAhead() {
+        // The only route of the simple road leads from its first road to its second one
+        Vehicle first = simulation.getVehicles().get(0);
+        assertEquals(2, first.getItinerary().size());
+        assertEquals(0, first.getItinerary().path(0).getRoadSegment().getIndex());
+        assertEquals(1, first.getItinerary().path(1).getRoadSegment().getIndex());
+        assertFalse(first.getItinerary().isClosed());
+
+        // Every vehicle follows the next one on the road, and the frontmost one follows nobody
+        List<Vehicle> vehicles = new ArrayList<>(simulation.getVehicles());
+        vehicles.sort(Comparator.comparingInt(Vehicle::getPathStep).thenComparingDouble(Vehicle::getPosition));
+        for (int i = 0; i < vehicles.size(); i++) {
+            assertSame(first.getItinerary(), vehicles.get(i).getItinerary());
+            assertSame(i + 1 < vehicles.size() ? vehicles.get(i + 1) : null,
+                    vehicles.get(i).getFrontVehicle());
+        }
+    }
 }
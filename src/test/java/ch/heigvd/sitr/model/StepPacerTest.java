@@ -0,0 +1,82 @@
+/*
+ * Filename : StepPacerTest.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StepPacer class
+ */
+class StepPacerTest {
+    // One wall-clock millisecond [ns]
+    private static final long MS = 1_000_000L;
+
+    @Test
+    public void timeWarpShouldPaceTheSimulatedTime() {
+        StepPacer pacer = new StepPacer(0);
+
+        // 10 simulated seconds per second, steps of 0.125s : 8 steps every 100ms
+        int steps = 0;
+        for (long now = 10 * MS; now <= 1000 * MS; now += 10 * MS) {
+            steps += pacer.stepsDue(now, 10, 0.125);
+        }
+        assertEquals(80, steps);
+    }
+
+    @Test
+    public void realTimeShouldStepOncePerDeltaT() {
+        StepPacer pacer = new StepPacer(0);
+
+        assertEquals(0, pacer.stepsDue(100 * MS, 1, 0.125));
+        assertEquals(1, pacer.stepsDue(125 * MS, 1, 0.125));
+        assertEquals(2, pacer.stepsDue(375 * MS, 1, 0.125));
+    }
+
+    @Test
+    public void remainderShouldBeCarriedOverToTheNextCall() {
+        StepPacer pacer = new StepPacer(0);
+
+        assertEquals(1, pacer.stepsDue(200 * MS, 1, 0.125));
+        // 75ms were left over, 50ms more cover a step
+        assertEquals(1, pacer.stepsDue(250 * MS, 1, 0.125));
+    }
+
+    @Test
+    public void pacerShouldGiveUpCatchingUpAfterTooManySteps() {
+        StepPacer pacer = new StepPacer(0);
+
+        assertEquals(StepPacer.MAX_CATCH_UP_STEPS, pacer.stepsDue(60_000 * MS, 1, 0.125));
+        // The time owed was forgotten
+        assertEquals(0, pacer.stepsDue(60_100 * MS, 1, 0.125));
+    }
+
+    @Test
+    public void resetShouldForgetTheTimeOwed() {
+        StepPacer pacer = new StepPacer(0);
+        pacer.stepsDue(100 * MS, 1, 0.125);
+
+        pacer.reset(1000 * MS);
+        assertEquals(0, pacer.stepsDue(1100 * MS, 1, 0.125));
+        assertEquals(1, pacer.stepsDue(1125 * MS, 1, 0.125));
+    }
+
+    @Test
+    public void sleepShouldLastUntilTheNextStep() {
+        StepPacer pacer = new StepPacer(0);
+        pacer.stepsDue(100 * MS, 1, 0.125);
+        // Truncated to whole milliseconds
+        assertEquals(25, pacer.sleepMillis(1, 0.125), 1);
+
+        // A faster time warp makes the next step due sooner
+        assertEquals(2.5, pacer.sleepMillis(10, 0.125), 1);
+
+        // But never sleeps longer than MAX_SLEEP
+        assertEquals(StepPacer.MAX_SLEEP, new StepPacer(0).sleepMillis(0.001, 0.125));
+        assertEquals(1, pacer.sleepMillis(1000, 0.125));
+    }
+}
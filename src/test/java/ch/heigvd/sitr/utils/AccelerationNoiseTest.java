@@ -6,7 +6,12 @@
 package ch.heigvd.sitr.utils;
 
 import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Unit tests for noises utils class
@@ -14,5 +19,64 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
  * @author Simon Walther
  */
 class AccelerationNoiseTest {
+    @Test
+    public void sameSeedShouldGiveTheSameNoise() {
+        AccelerationNoise noise = new AccelerationNoise(new SplittableRandom(42));
+        AccelerationNoise replayedNoise = new AccelerationNoise(new SplittableRandom(42));
+
+        for (int i = 0; i < 100; i++) {
+            noise.updateAccelerationWhiteNoise(0.12);
+            replayedNoise.updateAccelerationWhiteNoise(0.12);
+            assertEquals(noise.getAccelerationNoise(), replayedNoise.getAccelerationNoise());
+        }
+    }
+
+    @Test
+    public void splitStreamsShouldGiveDifferentNoises() {
+        SplittableRandom master = new SplittableRandom(42);
+        AccelerationNoise noise = new AccelerationNoise(master.split());
+        AccelerationNoise otherNoise = new AccelerationNoise(master.split());
+
+        noise.updateAccelerationWhiteNoise(0.12);
+        otherNoise.updateAccelerationWhiteNoise(0.12);
+
+        assertNotEquals(noise.getAccelerationNoise(), otherNoise.getAccelerationNoise());
+    }
+
+    @Test
+    public void noiseShouldStayBounded() {
+        AccelerationNoise noise = new AccelerationNoise(new SplittableRandom(42));
+        // Stationary bound of the process : 0.5 * sqrt(2 dt / tau) * 0.5 / (1 - exp(-dt / tau))
+        double bound = 0.25 * Math.sqrt(2 * 0.12 / 0.4) / (1 - Math.exp(-0.12 / 0.4));
+
+        for (int i = 0; i < 10000; i++) {
+            noise.updateAccelerationWhiteNoise(0.12);
+            assertTrue(Math.abs(noise.getAccelerationNoise()) <= bound);
+        }
+    }
+
+    @Test
+    public void batchUpdateShouldMatchSingleUpdates() {
+        AccelerationNoise[] accelerationNoises = new AccelerationNoise[8];
+        SplittableRandom[] randoms = new SplittableRandom[8];
+        for (int i = 0; i < 8; i++) {
+            accelerationNoises[i] = new AccelerationNoise(new SplittableRandom(i));
+            randoms[i] = new SplittableRandom(i);
+        }
+        double[] noises = new double[8];
+        double[] samples = new double[8];
+
+        for (int step = 0; step < 100; step++) {
+            for (int i = 0; i < 8; i++) {
+                accelerationNoises[i].updateAccelerationWhiteNoise(0.12);
+                samples[i] = randoms[i].nextDouble() - 0.5;
+            }
+            AccelerationNoise.update(noises, samples, 0, 8,
+                    AccelerationNoise.decay(0.12), AccelerationNoise.diffusion(0.12));
 
-}
\ No newline at end of file
+            for (int i = 0; i < 8; i++) {
+                assertEquals(accelerationNoises[i].getAccelerationNoise(), noises[i]);
+            }
+        }
+    }
+}
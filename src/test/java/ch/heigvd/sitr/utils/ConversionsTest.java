@@ -38,4 +38,10 @@ class ConversionsTest {
         // 4 meters in pixels
         assertEquals(32, Conversions.metersToPixels(8, 4));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldNotRoundExactConversions() {
+        assertEquals(12.5625, Conversions.pixelsToMeters(8, 100.5));
+        assertEquals(33.6, Conversions.metersToExactPixels(8, 4.2), 1e-9);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Filename : TripleBufferTest.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TripleBuffer class
+ */
+class TripleBufferTest {
+    @Test
+    public void readerShouldGetTheLatestPublishedBuffer() {
+        TripleBuffer<int[]> buffer = new TripleBuffer<>(() -> new int[1]);
+
+        buffer.back()[0] = 1;
+        buffer.publish();
+        buffer.back()[0] = 2;
+        buffer.publish();
+
+        assertTrue(buffer.hasUnread());
+        assertEquals(2, buffer.acquire()[0]);
+        assertFalse(buffer.hasUnread());
+    }
+
+    @Test
+    public void readerShouldKeepItsBufferUntilSomethingIsPublished() {
+        TripleBuffer<int[]> buffer = new TripleBuffer<>(() -> new int[1]);
+
+        buffer.back()[0] = 1;
+        buffer.publish();
+        int[] front = buffer.acquire();
+
+        assertSame(front, buffer.acquire());
+        assertNotSame(front, buffer.back());
+    }
+
+    @Test
+    public void writerShouldNeverWriteTheReaderBuffer() throws InterruptedException {
+        // Each buffer holds twice the same counter, the reader must never see them differ
+        TripleBuffer<long[]> buffer = new TripleBuffer<>(() -> new long[2]);
+        AtomicInteger torn = new AtomicInteger();
+
+        Thread writer = new Thread(() -> {
+            for (long i = 1; i <= 200_000; i++) {
+                long[] back = buffer.back();
+                back[0] = i;
+                back[1] = i;
+                buffer.publish();
+            }
+        });
+        writer.start();
+
+        long last = 0;
+        while (writer.isAlive() || buffer.hasUnread()) {
+            long[] front = buffer.acquire();
+            long first = front[0];
+            long second = front[1];
+            if (first != second || first < last) {
+                torn.incrementAndGet();
+            }
+            last = first;
+        }
+        writer.join();
+
+        assertEquals(0, torn.get());
+        assertEquals(200_000, buffer.acquire()[0]);
+    }
+}
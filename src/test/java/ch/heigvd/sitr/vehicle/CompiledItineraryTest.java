@@ -0,0 +1,108 @@
+/*
+ * Filename: CompiledItineraryTest.java
+ * Creation date: 17.10.2026
+ */
+
+package ch.heigvd.sitr.vehicle;
+
+import ch.heigvd.sitr.map.RoadSegment;
+import ch.heigvd.sitr.map.roadmappings.LaneGeometries;
+import ch.heigvd.sitr.map.roadmappings.RoadMappingLine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for compiled itineraries.
+ */
+public class CompiledItineraryTest {
+    private VehicleController vehicleController;
+    private LinkedList<ItineraryPath> paths = new LinkedList<>();
+    private CompiledItinerary itinerary;
+
+    @BeforeEach
+    public void createDummyVehicleController() {
+        vehicleController = new VehicleController(33.33, 2, 1.5, 0.3, 3, false);
+    }
+
+    @BeforeEach
+    public void createDummyItinerary() {
+        for (int length = 100; length <= 300; length += 100) {
+            RoadSegment roadSegment = new RoadSegment(length, 1,
+                    new RoadMappingLine(new LaneGeometries(), 0, 0, 0, 0, length));
+            paths.add(new ItineraryPath(roadSegment, 1));
+        }
+        itinerary = new CompiledItinerary(paths);
+    }
+
+    @Test
+    public void pathsShouldKeepTheirOrder() {
+        assertEquals(3, itinerary.size());
+        for (int i = 0; i < paths.size(); i++) {
+            assertSame(paths.get(i), itinerary.path(i));
+            assertEquals(paths.get(i).getRoadSegment().getId(), itinerary.segment(i));
+            assertEquals(paths.get(i).length(), itinerary.length(i));
+        }
+        assertTrue(itinerary.hasUniqueSegments());
+    }
+
+    @Test
+    public void distanceShouldLoopBackToTheStart() {
+        double total = itinerary.totalLength();
+
+        assertEquals(itinerary.length(0) + itinerary.length(1), itinerary.distance(0, 2));
+        assertEquals(total - itinerary.length(0) - itinerary.length(1), itinerary.distance(2, 0));
+        assertEquals(total, itinerary.distance(1, 1));
+    }
+
+    @Test
+    public void distanceToShouldMatchDistance() {
+        for (int from = 0; from < 3; from++) {
+            for (int to = 0; to < 3; to++) {
+                double expected = from == to ? 0 : itinerary.distance(from, to);
+                assertEquals(expected, itinerary.distanceTo(from, itinerary.segment(to), false), 1e-9);
+            }
+        }
+        assertEquals(itinerary.totalLength(), itinerary.distanceTo(1, itinerary.segment(1), true), 1e-9);
+    }
+
+    @Test
+    public void distanceToUnknownSegmentShouldBeInfinite() {
+        assertEquals(Double.POSITIVE_INFINITY, itinerary.distanceTo(0, -1, false));
+    }
+
+    @Test
+    public void appendShouldNotChangeTheOriginalItinerary() {
+        CompiledItinerary appended = itinerary.append(paths.getFirst());
+
+        assertEquals(3, itinerary.size());
+        assertEquals(4, appended.size());
+        assertFalse(appended.hasUniqueSegments());
+        assertEquals(itinerary.totalLength() + itinerary.length(0), appended.totalLength());
+    }
+
+    @Test
+    public void sharedItineraryShouldGiveTheSameFrontDistanceAsWalking() {
+        VehicleStateStore store = new VehicleStateStore();
+        Vehicle vehicle = new Vehicle("regular.xml", vehicleController, itinerary, store);
+        Vehicle frontVehicle = new Vehicle("regular.xml", vehicleController, itinerary, store);
+        Vehicle walkingVehicle = new Vehicle(vehicleController, 1.6, 1, 33.33, 2.5, paths, store);
+        vehicle.setFrontVehicle(frontVehicle);
+        walkingVehicle.setFrontVehicle(frontVehicle);
+
+        double[][] positions = {{10, 0, 50, 0}, {50, 0, 10, 0}, {50, 0, 10, 2}, {50, 2, 10, 0}};
+        for (double[] position : positions) {
+            vehicle.setPathStep((int) position[1]);
+            vehicle.setPosition(position[0]);
+            walkingVehicle.setPathStep((int) position[1]);
+            walkingVehicle.setPosition(position[0]);
+            frontVehicle.setPathStep((int) position[3]);
+            frontVehicle.setPosition(position[2]);
+
+            assertEquals(walkingVehicle.frontDistance(), vehicle.frontDistance(), 1e-9);
+        }
+    }
+}
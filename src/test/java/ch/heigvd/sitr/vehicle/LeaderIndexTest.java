@@ -0,0 +1,134 @@
+/*
+ * Filename: LeaderIndexTest.java
+ * Creation date: 17.10.2026
+ */
+
+package ch.heigvd.sitr.vehicle;
+
+import ch.heigvd.sitr.map.RoadSegment;
+import ch.heigvd.sitr.map.roadmappings.LaneGeometries;
+import ch.heigvd.sitr.map.roadmappings.RoadMappingLine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the leader search across itineraries.
+ */
+public class LeaderIndexTest {
+    private VehicleController vehicleController;
+    private VehicleStateStore store;
+    private ItineraryPath[] paths = new ItineraryPath[3];
+
+    @BeforeEach
+    public void createDummyVehicleController() {
+        vehicleController = new VehicleController(33.33, 2, 1.5, 0.3, 3, false);
+    }
+
+    @BeforeEach
+    public void createDummyRoads() {
+        for (int i = 0; i < paths.length; i++) {
+            RoadSegment roadSegment = new RoadSegment(100, 1,
+                    new RoadMappingLine(new LaneGeometries(), 0, 0, 0, 0, 100));
+            paths[i] = new ItineraryPath(roadSegment, 1);
+        }
+
+        store = new VehicleStateStore();
+        store.enableLeaderSearch();
+    }
+
+    /**
+     * Create a vehicle on the given itinerary
+     *
+     * @param itinerary the itinerary of the vehicle
+     * @param pathStep  the path step of the vehicle
+     * @param position  the position of the vehicle on its path [m]
+     * @return the vehicle
+     */
+    private Vehicle createVehicle(CompiledItinerary itinerary, int pathStep, double position) {
+        Vehicle vehicle = new Vehicle("regular.xml", vehicleController, itinerary, store);
+        vehicle.setPathStep(pathStep);
+        vehicle.setPosition(position);
+        return vehicle;
+    }
+
+    @Test
+    public void vehiclesOnDifferentRoutesShouldSeeEachOtherOnASharedSegment() {
+        // Two roads merging into the third one
+        CompiledItinerary left = new CompiledItinerary(Arrays.asList(paths[0], paths[2]), false);
+        CompiledItinerary right = new CompiledItinerary(Arrays.asList(paths[1], paths[2]), false);
+
+        Vehicle leftVehicle = createVehicle(left, 0, 50);
+        Vehicle rightVehicle = createVehicle(right, 1, 30);
+        Vehicle mergedVehicle = createVehicle(left, 1, 10);
+        VehicleKernel.assignLeaders(store);
+
+        assertSame(mergedVehicle, leftVehicle.getFrontVehicle());
+        assertSame(rightVehicle, mergedVehicle.getFrontVehicle());
+        assertNull(rightVehicle.getFrontVehicle());
+        assertEquals(100 - 50 + 10 - leftVehicle.getLength(), leftVehicle.frontDistance(), 1e-9);
+        assertEquals(30 - 10 - rightVehicle.getLength(), mergedVehicle.frontDistance(), 1e-9);
+    }
+
+    @Test
+    public void frontmostVehicleShouldOnlyFollowTheRearmostOneOnAClosedItinerary() {
+        LinkedList<ItineraryPath> route = new LinkedList<>(Arrays.asList(paths[0], paths[1]));
+        Vehicle open = createVehicle(new CompiledItinerary(route, false), 1, 50);
+        createVehicle(new CompiledItinerary(route, false), 0, 50);
+        VehicleKernel.assignLeaders(store);
+        assertNull(open.getFrontVehicle());
+
+        store = new VehicleStateStore();
+        store.enableLeaderSearch();
+        Vehicle front = createVehicle(new CompiledItinerary(route, true), 1, 50);
+        Vehicle rear = createVehicle(new CompiledItinerary(route, true), 0, 50);
+        VehicleKernel.assignLeaders(store);
+        assertSame(rear, front.getFrontVehicle());
+        assertSame(front, rear.getFrontVehicle());
+    }
+
+    @Test
+    public void finishedVehiclesShouldNotBeFollowed() {
+        CompiledItinerary itinerary = new CompiledItinerary(Arrays.asList(paths[0], paths[1]), false);
+        Vehicle rear = createVehicle(itinerary, 0, 10);
+        Vehicle middle = createVehicle(itinerary, 0, 50);
+        Vehicle finished = createVehicle(itinerary, 1, 90);
+        store.finished[finished.getId()] = true;
+        VehicleKernel.assignLeaders(store);
+
+        assertSame(middle, rear.getFrontVehicle());
+        assertNull(middle.getFrontVehicle());
+        assertNull(finished.getFrontVehicle());
+    }
+
+    @Test
+    public void leadersShouldFollowOvertakingVehicles() {
+        CompiledItinerary itinerary = new CompiledItinerary(Arrays.asList(paths[0], paths[1]), false);
+        Vehicle first = createVehicle(itinerary, 0, 10);
+        Vehicle second = createVehicle(itinerary, 0, 50);
+        VehicleKernel.assignLeaders(store);
+        assertSame(second, first.getFrontVehicle());
+
+        first.setPosition(70);
+        VehicleKernel.assignLeaders(store);
+        assertSame(first, second.getFrontVehicle());
+        assertNull(first.getFrontVehicle());
+    }
+
+    @Test
+    public void leadersShouldBeKeptWithoutLeaderSearch() {
+        VehicleStateStore manualStore = new VehicleStateStore();
+        CompiledItinerary itinerary = new CompiledItinerary(Arrays.asList(paths[0], paths[1]), false);
+        Vehicle vehicle = new Vehicle("regular.xml", vehicleController, itinerary, manualStore);
+        Vehicle frontVehicle = new Vehicle("regular.xml", vehicleController, itinerary, manualStore);
+        vehicle.setPosition(50);
+        vehicle.setFrontVehicle(frontVehicle);
+        VehicleKernel.assignLeaders(manualStore);
+
+        assertSame(frontVehicle, vehicle.getFrontVehicle());
+    }
+}
@@ -254,4 +254,36 @@ public class VehicleControllerTest {
         frontVehicle.setPosition(80);
         assertEquals(0.241, vehicleController.acceleration(frontVehicle), 0.001);
     }
+
+    /**
+     * The folded kernel should stay within tolerance of the reference formula, using Math.pow
+     */
+    @Test
+    public void primitiveAccelerationShouldMatchReferenceFormula() {
+        double a = vehicleController.getMaxAcceleration();
+        double b = vehicleController.getComfortableBrakingDeceleration();
+
+        for (double v = 0; v <= 40; v += 0.5) {
+            for (double dv = -10; dv <= 10; dv += 0.5) {
+                for (double s = 0.5; s <= 200; s *= 1.5) {
+                    double safeDistance = 2 + v * 1.5;
+                    double dynamicalTerm = (v * dv) / (2 * Math.sqrt(a * b));
+                    double desiredDistance = (safeDistance - 2 + dynamicalTerm < 0) ? 2 : safeDistance + dynamicalTerm;
+                    double expected = a * (1 - Math.pow(v / 33.33, 4)) - a * Math.pow(desiredDistance / s, 2);
+
+                    assertEquals(expected, vehicleController.acceleration(v, dv, s), 1e-9 * Math.max(1, Math.abs(expected)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void settersShouldUpdateFoldedConstants() {
+        vehicleController.setDesiredVelocity(20);
+        vehicleController.setMaxAcceleration(1);
+        vehicleController.setComfortableBrakingDeceleration(1);
+
+        // 1 * [1 - (10 / 20)^4 - ((2 + 10 * 1.5) / 34)^2] = 0.6875
+        assertEquals(0.6875, vehicleController.acceleration(10, 0, 34), 1e-12);
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Filename: VehicleEventBusTest.java
+ * Creation date: 17.10.2026
+ */
+
+package ch.heigvd.sitr.vehicle;
+
+import ch.heigvd.sitr.map.RoadSegment;
+import ch.heigvd.sitr.map.roadmappings.LaneGeometries;
+import ch.heigvd.sitr.map.roadmappings.RoadMappingLine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the vehicle event bus.
+ */
+public class VehicleEventBusTest {
+    private VehicleStateStore store;
+    private VehicleEventBus bus;
+    private Vehicle vehicle;
+    private Vehicle otherVehicle;
+
+    // Vehicles notified to the listener, in order
+    private ArrayList<Vehicle> notified = new ArrayList<>();
+    private VehicleListener listener = notified::add;
+
+    @BeforeEach
+    public void createDummyVehicles() {
+        VehicleController vehicleController = new VehicleController(33.33, 2, 1.5, 0.3, 3, false);
+        LinkedList<ItineraryPath> itinerary = new LinkedList<>();
+        RoadSegment roadSegment = new RoadSegment(1000, 1, new RoadMappingLine(new LaneGeometries(), 0, 0, 0, 0, 1000));
+        itinerary.add(new ItineraryPath(roadSegment, 1));
+
+        store = new VehicleStateStore();
+        bus = store.getEventBus();
+        vehicle = new Vehicle(vehicleController, 1.6, 1, 33.33, 2.5, itinerary, store);
+        otherVehicle = new Vehicle(vehicleController, 1.6, 1, 33.33, 2.5, itinerary, store);
+        vehicle.setFrontVehicle(otherVehicle);
+        otherVehicle.setFrontVehicle(vehicle);
+        otherVehicle.setPosition(500);
+    }
+
+    @Test
+    public void busShouldHaveNoSubscriberByDefault() {
+        assertFalse(bus.hasSubscribers());
+        VehicleKernel.update(store, 0.12);
+        assertTrue(notified.isEmpty());
+    }
+
+    @Test
+    public void onlySubscribedVehiclesShouldBePublished() {
+        vehicle.addListener(listener);
+
+        VehicleKernel.update(store, 0.12);
+
+        assertTrue(bus.hasSubscribers());
+        assertEquals(1, notified.size());
+        assertSame(vehicle, notified.get(0));
+    }
+
+    @Test
+    public void coalescedUpdatesShouldBeNotifiedOncePerFlush() {
+        bus.setCoalescing(true);
+        vehicle.addListener(listener);
+
+        for (int i = 0; i < 10; i++) {
+            VehicleKernel.update(store, 0.12);
+        }
+        assertTrue(notified.isEmpty());
+
+        bus.flush();
+        bus.flush();
+        assertEquals(1, notified.size());
+    }
+
+    @Test
+    public void unsubscribedListenerShouldNotBeNotified() {
+        vehicle.addListener(listener);
+        otherVehicle.addListener(listener);
+        vehicle.removeListener(listener);
+
+        VehicleKernel.update(store, 0.12);
+        assertEquals(1, notified.size());
+        assertSame(otherVehicle, notified.get(0));
+
+        bus.unsubscribe(listener);
+        VehicleKernel.update(store, 0.12);
+        assertEquals(1, notified.size());
+        assertFalse(bus.hasSubscribers());
+    }
+
+    @Test
+    public void finishedVehiclesShouldNotBePublished() {
+        vehicle.addListener(listener);
+        store.finished[vehicle.getId()] = true;
+
+        VehicleKernel.update(store, 0.12);
+
+        assertTrue(notified.isEmpty());
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Filename: VehicleKernelTest.java
+ * Creation date: 17.10.2026
+ */
+
+package ch.heigvd.sitr.vehicle;
+
+import ch.heigvd.sitr.map.RoadSegment;
+import ch.heigvd.sitr.map.roadmappings.LaneGeometries;
+import ch.heigvd.sitr.map.roadmappings.RoadMappingLine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the vehicle kernel.
+ */
+public class VehicleKernelTest {
+    private static final int NB_VEHICLES = 8;
+
+    private VehicleController vehicleController;
+    private LinkedList<ItineraryPath> defaultItinerary = new LinkedList<>();
+
+    @BeforeEach
+    public void createDummyVehicleController() {
+        vehicleController = new VehicleController(33.33, 2, 1.5, 0.3, 3, false);
+    }
+
+    @BeforeEach
+    public void createDummyItinerary() {
+        RoadSegment roadSegment = new RoadSegment(1000, 1, new RoadMappingLine(new LaneGeometries(), 0, 0, 0, 0, 1000));
+        defaultItinerary.add(new ItineraryPath(roadSegment, 1));
+    }
+
+    /**
+     * Create a ring of vehicles, the vehicle i following the vehicle i + 1
+     *
+     * @param reversed whether to create the vehicles in the store in reverse order
+     * @return the vehicles, in ring order
+     */
+    private Vehicle[] createRing(boolean reversed) {
+        return createRing(NB_VEHICLES, reversed);
+    }
+
+    /**
+     * Create a ring of vehicles, the vehicle i following the vehicle i + 1
+     *
+     * @param nbVehicles the number of vehicles in the ring
+     * @param reversed   whether to create the vehicles in the store in reverse order
+     * @return the vehicles, in ring order
+     */
+    private Vehicle[] createRing(int nbVehicles, boolean reversed) {
+        return createRing(nbVehicles, reversed, new VehicleStateStore(), vehicleController);
+    }
+
+    /**
+     * Create a ring of vehicles, the vehicle i following the vehicle i + 1
+     *
+     * @param nbVehicles the number of vehicles in the ring
+     * @param reversed   whether to create the vehicles in the store in reverse order
+     * @param store      the store holding the vehicles
+     * @param controller the controller of the vehicles
+     * @return the vehicles, in ring order
+     */
+    private Vehicle[] createRing(int nbVehicles, boolean reversed, VehicleStateStore store,
+                                 VehicleController controller) {
+        Vehicle[] vehicles = new Vehicle[nbVehicles];
+
+        for (int i = 0; i < nbVehicles; i++) {
+            int index = reversed ? nbVehicles - 1 - i : i;
+            vehicles[index] = new Vehicle(controller, 1.6, 1, 33.33, 2.5, defaultItinerary, store);
+        }
+
+        double spacing = defaultItinerary.getFirst().length() / nbVehicles;
+        for (int i = 0; i < nbVehicles; i++) {
+            vehicles[i].setPosition(i * spacing);
+            vehicles[i].setSpeed(i % 10);
+            vehicles[i].setFrontVehicle(vehicles[(i + 1) % nbVehicles]);
+        }
+
+        return vehicles;
+    }
+
+    @Test
+    public void stepShouldNotDependOnVehiclesOrder() {
+        Vehicle[] ring = createRing(false);
+        Vehicle[] reversedRing = createRing(true);
+
+        for (int step = 0; step < 200; step++) {
+            VehicleKernel.update(ring[0].getStore(), 0.12);
+            VehicleKernel.update(reversedRing[0].getStore(), 0.12);
+        }
+
+        for (int i = 0; i < NB_VEHICLES; i++) {
+            assertEquals(ring[i].getPosition(), reversedRing[i].getPosition());
+            assertEquals(ring[i].getSpeed(), reversedRing[i].getSpeed());
+            assertEquals(ring[i].getPathStep(), reversedRing[i].getPathStep());
+        }
+    }
+
+    @Test
+    public void parallelStepShouldGiveTheSameTrajectoriesAsSequentialStep() {
+        int nbVehicles = 4 * VehicleKernel.MIN_RANGE + 3;
+        Vehicle[] sequential = createRing(nbVehicles, false);
+        Vehicle[] parallel = createRing(nbVehicles, false);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        for (int step = 0; step < 200; step++) {
+            VehicleKernel.update(sequential[0].getStore(), 0.12);
+            VehicleKernel.update(parallel[0].getStore(), 0.12, pool);
+
+            for (int i = 0; i < nbVehicles; i++) {
+                assertEquals(sequential[i].getPosition(), parallel[i].getPosition());
+                assertEquals(sequential[i].getSpeed(), parallel[i].getSpeed());
+                assertEquals(sequential[i].getPathStep(), parallel[i].getPathStep());
+            }
+        }
+
+        pool.shutdown();
+    }
+
+    @Test
+    public void parallelStepWithNoiseShouldGiveTheSameTrajectoriesAsSequentialStep() {
+        int nbVehicles = 4 * VehicleKernel.MIN_RANGE + 3;
+        VehicleController humanController = new VehicleController(33.33, 2, 1.5, 0.3, 3, true);
+        Vehicle[] sequential = createRing(nbVehicles, false, new VehicleStateStore(16, 42), humanController);
+        Vehicle[] parallel = createRing(nbVehicles, false, new VehicleStateStore(16, 42), humanController);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        for (int step = 0; step < 200; step++) {
+            VehicleKernel.update(sequential[0].getStore(), 0.12);
+            VehicleKernel.update(parallel[0].getStore(), 0.12, pool);
+        }
+
+        for (int i = 0; i < nbVehicles; i++) {
+            assertEquals(sequential[i].getAccelerationNoise(), parallel[i].getAccelerationNoise());
+            assertEquals(sequential[i].getPosition(), parallel[i].getPosition());
+            assertEquals(sequential[i].getSpeed(), parallel[i].getSpeed());
+        }
+
+        pool.shutdown();
+    }
+
+    @Test
+    public void stepShouldReadTheStateBeforeTheStep() {
+        Vehicle[] ring = createRing(false);
+        Vehicle vehicle = ring[0];
+        double expectedAcceleration = vehicle.acceleration();
+
+        VehicleKernel.update(vehicle.getStore(), 0.12);
+
+        assertEquals(expectedAcceleration, vehicle.getStore().acceleration[vehicle.getId()]);
+    }
+}
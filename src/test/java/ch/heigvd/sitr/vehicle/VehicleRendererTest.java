@@ -5,8 +5,15 @@
 
 package ch.heigvd.sitr.vehicle;
 
+import ch.heigvd.sitr.model.*;
 import org.junit.jupiter.api.Test;
 
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -17,4 +24,26 @@ class VehicleRendererTest {
     public void getInstanceShouldNotReturnNull() {
         assertNotNull(VehicleRenderer.getInstance());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void frameShouldDrawEveryVehicleAndRestoreTheTransform() {
+        HashMap<VehicleControllerType, Integer> controllers = new HashMap<>();
+        controllers.put(VehicleControllerType.AUTONOMOUS, 4);
+        SimulationEngine engine = new Simulation(Scenario.SIMPLE_ROAD, VehicleBehaviour.LOOP, controllers).getEngine();
+        engine.enableSnapshots(Scenario.SIMPLE_ROAD.getScale());
+        FrameSnapshot snapshot = engine.latestSnapshot();
+
+        BufferedImage image = new BufferedImage(1600, 1000, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        AffineTransform transform = g.getTransform();
+
+        VehicleRenderer.getInstance().display(g, snapshot, 1);
+
+        assertEquals(transform, g.getTransform());
+        for (int i = 0; i < snapshot.size(); i++) {
+            Point2D.Double center = snapshot.center(i, 1);
+            assertEquals(snapshot.color(i), image.getRGB((int) center.x, (int) center.y));
+        }
+        g.dispose();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Filename : VehicleSpriteCacheTest.java
+ * Creation date : 17.10.2026
+ */
+
+package ch.heigvd.sitr.vehicle;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the vehicle sprite cache
+ */
+class VehicleSpriteCacheTest {
+    @Test
+    public void headingsOfTheSameBinShouldShareASprite() {
+        VehicleSpriteCache cache = new VehicleSpriteCache(16);
+        VehicleSpriteCache.Sprite sprite = get(cache, 20, 10, Color.RED, 0.3);
+
+        assertSame(sprite, get(cache, 20, 10, Color.RED, 0.3 + Math.toRadians(0.5)));
+        assertNotSame(sprite, get(cache, 20, 10, Color.RED, 0.3 + Math.toRadians(3)));
+        assertNotSame(sprite, get(cache, 20, 10, Color.BLUE, 0.3));
+        assertNotSame(sprite, get(cache, 21, 10, Color.RED, 0.3));
+    }
+
+    @Test
+    public void headingBinShouldWrapAround() {
+        assertEquals(0, headingBin(2 * Math.PI));
+        assertEquals(0, headingBin(-Math.toRadians(0.5)));
+        assertEquals(VehicleSpriteCache.HEADING_BINS - 1, headingBin(-Math.toRadians(2)));
+    }
+
+    @Test
+    public void headingBinShouldBeTheNearestOne() {
+        for (double degrees = -360; degrees < 360; degrees += 0.3) {
+            // Stay away from the boundaries between bins
+            double offset = Math.abs(degrees / VehicleSpriteCache.HEADING_BIN_DEGREES
+                    - Math.round(degrees / VehicleSpriteCache.HEADING_BIN_DEGREES));
+            if (Math.abs(offset - 0.5) < 1e-6) {
+                continue;
+            }
+
+            int expected = (int) Math.round(degrees / VehicleSpriteCache.HEADING_BIN_DEGREES);
+            expected = Math.floorMod(expected, VehicleSpriteCache.HEADING_BINS);
+            assertEquals(expected, headingBin(Math.toRadians(degrees)), "heading " + degrees);
+        }
+    }
+
+    @Test
+    public void leastRecentlyUsedSpritesShouldBeEvicted() {
+        VehicleSpriteCache cache = new VehicleSpriteCache(2);
+        VehicleSpriteCache.Sprite red = get(cache, 20, 10, Color.RED, 0);
+        VehicleSpriteCache.Sprite blue = get(cache, 20, 10, Color.BLUE, 0);
+
+        // Use red again, so blue is the eldest
+        get(cache, 20, 10, Color.RED, 0);
+        get(cache, 20, 10, Color.GREEN, 0);
+
+        assertEquals(2, cache.size());
+        assertSame(red, get(cache, 20, 10, Color.RED, 0));
+        assertNotSame(blue, get(cache, 20, 10, Color.BLUE, 0));
+    }
+
+    @Test
+    public void spriteShouldBeDrawnAroundItsCentre() {
+        VehicleSpriteCache cache = new VehicleSpriteCache(16);
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+
+        get(cache, 30, 10, Color.RED, Math.PI / 2).draw(g, 50, 50);
+        g.dispose();
+
+        // Turned a quarter, the vehicle lies along the y axis
+        assertEquals(Color.RED.getRGB(), image.getRGB(50, 50));
+        assertEquals(Color.RED.getRGB(), image.getRGB(50, 62));
+        assertEquals(0, image.getRGB(62, 50));
+    }
+
+    /**
+     * Get a sprite for a heading given as an angle
+     */
+    private static VehicleSpriteCache.Sprite get(VehicleSpriteCache cache, int length, int width,
+                                                 Color color, double angle) {
+        return cache.get(length, width, color.getRGB(), Math.cos(angle), Math.sin(angle));
+    }
+
+    /**
+     * Get the heading bin of an angle
+     */
+    private static int headingBin(double angle) {
+        return VehicleSpriteCache.headingBin(Math.cos(angle), Math.sin(angle));
+    }
+}
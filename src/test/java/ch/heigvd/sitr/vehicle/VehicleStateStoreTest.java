@@ -0,0 +1,147 @@
+/*
+ * Filename: VehicleStateStoreTest.java
+ * Creation date: 17.10.2026
+ */
+
+package ch.heigvd.sitr.vehicle;
+
+import ch.heigvd.sitr.map.RoadSegment;
+import ch.heigvd.sitr.map.roadmappings.LaneGeometries;
+import ch.heigvd.sitr.map.roadmappings.RoadMappingLine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the vehicle state store.
+ */
+public class VehicleStateStoreTest {
+    private VehicleController vehicleController;
+    private LinkedList<ItineraryPath> defaultItinerary = new LinkedList<>();
+
+    @BeforeEach
+    public void createDummyVehicleController() {
+        vehicleController = new VehicleController(33.33, 2, 1.5, 0.3, 3, false);
+    }
+
+    @BeforeEach
+    public void createDummyItinerary() {
+        RoadSegment roadSegment = new RoadSegment(10000, 1, new RoadMappingLine(new LaneGeometries(), 0, 0, 0, 0, 10000));
+        defaultItinerary.add(new ItineraryPath(roadSegment, 1));
+    }
+
+    @Test
+    public void vehiclesShouldGetConsecutiveIds() {
+        VehicleStateStore store = new VehicleStateStore(4);
+        for (int i = 0; i < 3; i++) {
+            Vehicle vehicle = new Vehicle(vehicleController, 1.6, 1, 33.33, 2.5, defaultItinerary, store);
+            assertEquals(i, vehicle.getId());
+            assertSame(vehicle, store.vehicle(i));
+        }
+        assertEquals(3, store.getSize());
+    }
+
+    @Test
+    public void storeShouldGrowBeyondItsCapacity() {
+        VehicleStateStore store = new VehicleStateStore(1);
+        Vehicle first = new Vehicle(vehicleController, 1.6, 1, 33.33, 2.5, defaultItinerary, store);
+        first.setSpeed(12);
+        first.setPosition(42);
+
+        for (int i = 0; i < 100; i++) {
+            new Vehicle(vehicleController, 1.6, 1, 33.33, 2.5, defaultItinerary, store);
+        }
+
+        assertEquals(101, store.getSize());
+        assertEquals(12, first.getSpeed());
+        assertEquals(42, first.getPosition());
+    }
+
+    @Test
+    public void vehiclesShouldBeViewsOverTheStore() {
+        VehicleStateStore store = new VehicleStateStore();
+        Vehicle vehicle = new Vehicle(vehicleController, 1.6, 1, 33.33, 2.5, defaultItinerary, store);
+        vehicle.setSpeed(20);
+
+        assertEquals(20, store.speed[vehicle.getId()]);
+        assertEquals(1.6, store.length[vehicle.getId()]);
+        assertSame(vehicleController, store.controller[vehicle.getId()]);
+    }
+
+    @Test
+    public void kernelShouldUpdateEveryVehicleOfTheStore() {
+        VehicleStateStore store = new VehicleStateStore();
+        Vehicle vehicle = new Vehicle(vehicleController, 1.6, 1, 33.33, 2.5, defaultItinerary, store);
+        Vehicle frontVehicle = new Vehicle(vehicleController, 1.6, 1, 33.33, 2.5, defaultItinerary, store);
+        vehicle.setFrontVehicle(frontVehicle);
+        vehicle.setSpeed(22.22);
+        vehicle.setPosition(50);
+        frontVehicle.setSpeed(27.77);
+        frontVehicle.setPosition(100);
+
+        VehicleKernel.update(store, 10);
+
+        assertEquals(296.223, vehicle.getPosition(), 0.001);
+        assertTrue(frontVehicle.getPosition() > 100);
+    }
+
+    @Test
+    public void neighbourhoodShouldBeRecomputedWhenTheStateChanges() {
+        VehicleStateStore store = new VehicleStateStore();
+        Vehicle vehicle = new Vehicle(vehicleController, 1.6, 1, 33.33, 2.5, defaultItinerary, store);
+        Vehicle frontVehicle = new Vehicle(vehicleController, 1.6, 1, 33.33, 2.5, defaultItinerary, store);
+        vehicle.setFrontVehicle(frontVehicle);
+        vehicle.setSpeed(20);
+        frontVehicle.setPosition(50);
+        frontVehicle.setSpeed(15);
+
+        assertEquals(48.4, vehicle.frontDistance(), 0.001);
+        assertEquals(15, vehicle.leaderSpeed());
+        assertEquals(5, vehicle.relSpeed());
+
+        frontVehicle.setPosition(60);
+        frontVehicle.setSpeed(25);
+
+        assertEquals(58.4, vehicle.frontDistance(), 0.001);
+        assertEquals(-5, vehicle.relSpeed());
+    }
+
+    @Test
+    public void kernelStepShouldInvalidateTheNeighbourhood() {
+        VehicleStateStore store = new VehicleStateStore();
+        Vehicle vehicle = new Vehicle(vehicleController, 1.6, 1, 33.33, 2.5, defaultItinerary, store);
+        Vehicle frontVehicle = new Vehicle(vehicleController, 1.6, 1, 33.33, 2.5, defaultItinerary, store);
+        vehicle.setFrontVehicle(frontVehicle);
+        frontVehicle.setPosition(50);
+        frontVehicle.setSpeed(15);
+        double frontDistance = vehicle.frontDistance();
+
+        VehicleKernel.update(store, 1);
+
+        assertEquals(frontDistance + 15, vehicle.frontDistance(), 0.1);
+    }
+
+    @Test
+    public void advanceShouldLeaveInvalidationToTheKernel() {
+        RoadSegment roadSegment = new RoadSegment(100, 1, new RoadMappingLine(new LaneGeometries(), 0, 0, 0, 0, 100));
+        LinkedList<ItineraryPath> itinerary = new LinkedList<>();
+        itinerary.add(new ItineraryPath(roadSegment, 1));
+        itinerary.add(new ItineraryPath(roadSegment, 1));
+
+        VehicleStateStore store = new VehicleStateStore();
+        Vehicle vehicle = new Vehicle(vehicleController, 1.6, 1, 33.33, 2.5, itinerary, store);
+        store.validateNeighbourhood(vehicle.getId());
+
+        // Moving to the next path during the commit phase doesn't change the version
+        vehicle.advance(120);
+        assertEquals(1, vehicle.getPathStep());
+        assertEquals(20, vehicle.getPosition(), 1e-9);
+        assertTrue(store.isNeighbourhoodValid(vehicle.getId()));
+
+        vehicle.setPathStep(0);
+        assertFalse(store.isNeighbourhoodValid(vehicle.getId()));
+    }
+}
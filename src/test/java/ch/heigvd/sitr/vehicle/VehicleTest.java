@@ -366,4 +366,18 @@ public class VehicleTest {
         assertEquals(vehicle.getPathStep(), 0);
         assertFalse(vehicle.isFinished());
     }
+
+    @Test
+    public void waitingTimeShouldBeMeasuredInSimulatedTime() {
+        // No front vehicle and no speed : the vehicle waits until it reaches the waiting speed
+        Vehicle vehicle = new Vehicle(vehicleController, 1.6, 1, 33.33, 2.5, defaultItinerary);
+
+        for (int i = 0; i < 10; i++) {
+            vehicle.getStore().getClock().advance(0.1);
+            vehicle.update(0.1);
+        }
+
+        // Waiting from the first update (0.1 s) to the last one (1 s)
+        assertEquals(0.9, vehicle.getWaitingTime(), 1e-9);
+    }
 }